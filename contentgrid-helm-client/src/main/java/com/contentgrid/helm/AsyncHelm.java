@@ -0,0 +1,88 @@
+package com.contentgrid.helm;
+
+import com.contentgrid.helm.HelmDependencyCommand.DependencyBuildOption;
+import com.contentgrid.helm.HelmInstallCommand.InstallOption;
+import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import com.contentgrid.helm.HelmUninstallCommand.UninstallOption;
+import com.contentgrid.helm.HelmUninstallCommand.UninstallResult;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the {@link Helm} commands that are typically slow. Commands return immediately, with a
+ * future that completes when the helm process exits. When the helm command fails, the future completes exceptionally
+ * with a {@link com.contentgrid.helm.impl.CommandExecutor.CommandException}.
+ */
+public interface AsyncHelm {
+
+    AsyncInstallCommand install();
+
+    AsyncUninstallCommand uninstall();
+
+    AsyncDependencyCommand dependency();
+
+    interface AsyncInstallCommand {
+
+        /**
+         * Install helm chart referenced by a local path to a packaged or unpacked chart.
+         *
+         * @param name of the helm release
+         * @param chart a chart reference, a path to a packaged chart, a path to an unpacked chart directory or a URL
+         * @param options install flags
+         * @see HelmInstallCommand#chart(String, String, InstallOption...)
+         */
+        CompletableFuture<InstallResult> chart(String name, String chart, InstallOption... options);
+
+        /**
+         * Install helm chart referenced by a local path to a packaged or unpacked chart.
+         *
+         * @param name of the helm release
+         * @param chartPath path to the chart
+         * @param options install flags
+         */
+        default CompletableFuture<InstallResult> chart(String name, Path chartPath, InstallOption... options) {
+            return this.chart(name, chartPath.toAbsolutePath().normalize().toString(), options);
+        }
+
+        /**
+         * Install the referenced chart, with --generate-name implied
+         *
+         * @param chart a chart reference, a path to a packaged chart, a path to an unpacked chart directory or a URL
+         * @param options additional installation options
+         */
+        default CompletableFuture<InstallResult> chart(String chart, InstallOption... options) {
+            var installOptions = Arrays.copyOf(options, options.length + 1);
+            installOptions[options.length] = InstallOption.generateName();
+            return this.chart(null, chart, installOptions);
+        }
+    }
+
+    interface AsyncUninstallCommand {
+
+        /**
+         * Uninstall helm chart
+         *
+         * @param name of the helm release
+         * @param options uninstall flags
+         * @see HelmUninstallCommand#uninstall(String, UninstallOption...)
+         */
+        CompletableFuture<UninstallResult> uninstall(String name, UninstallOption... options);
+    }
+
+    interface AsyncDependencyCommand {
+
+        /**
+         * Rebuild the charts/ directory based on the Chart.lock file
+         *
+         * @param chart path to the chart
+         * @param options dependency build flags
+         * @see HelmDependencyCommand#build(String, DependencyBuildOption...)
+         */
+        CompletableFuture<Void> build(String chart, DependencyBuildOption... options);
+
+        default CompletableFuture<Void> build(Path chartPath, DependencyBuildOption... options) {
+            return this.build(chartPath.toAbsolutePath().normalize().toString(), options);
+        }
+    }
+}
@@ -13,10 +13,20 @@ public interface Helm {
 
     HelmInstallCommand install();
 
+    HelmUpgradeCommand upgrade();
+
     HelmUninstallCommand uninstall();
 
     HelmTemplateCommand template();
 
+    /**
+     * Non-blocking variants of the install, uninstall and dependency commands, which allow running several helm
+     * commands concurrently.
+     *
+     * @return async helm commands, sharing the configuration of this client
+     */
+    AsyncHelm async();
+
     /**
      * Readonly view of the environment variables
      *
@@ -16,5 +16,14 @@ public interface HelmBuilder {
 
     HelmBuilder withDataHome(Path dataHome);
 
+    /**
+     * Set the location for cached files, like repository indexes. Using a persistent location avoids re-downloading
+     * repository indexes.
+     *
+     * @param cacheHome path for {@code HELM_CACHE_HOME}
+     * @return the builder
+     */
+    HelmBuilder withCacheHome(Path cacheHome);
+
     HelmBuilder withRepositoryConfig(Path repositoryConfig);
 }
@@ -16,14 +16,45 @@ public interface HelmDependencyCommand {
         return list(".");
     }
 
-    void build(String chart);
+    /**
+     * Rebuild the charts/ directory based on the Chart.lock file
+     *
+     * @param chart path to the chart
+     * @param options dependency build flags
+     */
+    void build(String chart, DependencyBuildOption... options);
 
-    default void build() {
-        build(".");
+    default void build(DependencyBuildOption... options) {
+        build(".", options);
     }
 
-    default void build(Path chartPath) {
-        this.build(chartPath.toAbsolutePath().normalize().toString());
+    default void build(Path chartPath, DependencyBuildOption... options) {
+        this.build(chartPath.toAbsolutePath().normalize().toString(), options);
+    }
+
+    interface DependencyBuildOption {
+
+        void apply(DependencyBuildOptionsHandler handler);
+
+        /**
+         * Untyped arguments appended to the command. Main use case is adding less-common flags.
+         */
+        static DependencyBuildOption arguments(String... args) {
+            return handler -> handler.arguments(args);
+        }
+
+        /**
+         * Do not refresh the local repository cache. Only safe when the repository indexes are already cached and
+         * contain the versions from Chart.lock.
+         */
+        static DependencyBuildOption skipRefresh() {
+            return DependencyBuildOptionsHandler::skipRefresh;
+        }
+    }
+
+    interface DependencyBuildOptionsHandler {
+        void skipRefresh();
+        void arguments(String ... args);
     }
 
     interface HelmDependency {
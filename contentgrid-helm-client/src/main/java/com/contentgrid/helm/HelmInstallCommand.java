@@ -139,6 +139,13 @@ public interface HelmInstallCommand {
         Map<String, String> info();
 
         Map<String, Object> chart();
+
+        /**
+         * @return the rendered manifests of the release, as multi-document YAML, or {@code null} when not available
+         */
+        default String manifest() {
+            return null;
+        }
     }
 }
 
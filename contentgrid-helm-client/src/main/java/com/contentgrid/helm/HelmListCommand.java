@@ -1,10 +1,8 @@
 package com.contentgrid.helm;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.ZonedDateTime;
 import java.util.List;
-import lombok.Value;
+import java.util.Set;
 
 public interface HelmListCommand {
 
@@ -12,6 +10,92 @@ public interface HelmListCommand {
 
     interface ListOption {
 
+        void apply(ListOptionsHandler handler);
+
+        /**
+         * Untyped arguments appended to the command. Main use case is adding less-common flags.
+         */
+        static ListOption arguments(String... args) {
+            return handler -> handler.arguments(args);
+        }
+
+        /**
+         * Kubernetes namespace scope for this request
+         * @param namespace kubernetes namespace
+         */
+        static ListOption namespace(String namespace) {
+            return handler -> handler.namespace(namespace);
+        }
+
+        /**
+         * List releases across all namespaces
+         */
+        static ListOption allNamespaces() {
+            return ListOptionsHandler::allNamespaces;
+        }
+
+        /**
+         * Only list releases with a name that matches the regular expression
+         * @param regex regular expression, which must match a part of the release name
+         */
+        static ListOption filter(String regex) {
+            return handler -> handler.filter(regex);
+        }
+
+        /**
+         * Only list releases with one of the statuses. By default, only deployed and failed releases are listed.
+         * @param statuses release statuses
+         */
+        static ListOption status(ReleaseStatus... statuses) {
+            return handler -> {
+                for (var status : statuses) {
+                    handler.status(status);
+                }
+            };
+        }
+    }
+
+    interface ListOptionsHandler {
+        void namespace(String namespace);
+        void allNamespaces();
+        void filter(String regex);
+        void status(ReleaseStatus status);
+        void arguments(String ... args);
+    }
+
+    /**
+     * The status of a release, as it can be filtered on
+     */
+    enum ReleaseStatus {
+        DEPLOYED("--deployed", "deployed"),
+        FAILED("--failed", "failed"),
+        PENDING("--pending", "pending-install", "pending-upgrade", "pending-rollback"),
+        SUPERSEDED("--superseded", "superseded"),
+        UNINSTALLING("--uninstalling", "uninstalling"),
+        UNINSTALLED("--uninstalled", "uninstalled");
+
+        private final String flag;
+        private final Set<String> statuses;
+
+        ReleaseStatus(String flag, String... statuses) {
+            this.flag = flag;
+            this.statuses = Set.of(statuses);
+        }
+
+        /**
+         * @return the {@code helm list} flag that selects releases with this status
+         */
+        public String flag() {
+            return flag;
+        }
+
+        /**
+         * @param status the status of a release, as reported by helm
+         * @return whether the status is covered by this status
+         */
+        public boolean matches(String status) {
+            return statuses.contains(status);
+        }
     }
 
     interface HelmRelease {
@@ -0,0 +1,107 @@
+package com.contentgrid.helm;
+
+import com.contentgrid.helm.HelmListCommand.HelmRelease;
+import com.contentgrid.helm.HelmListCommand.ListOption;
+import com.contentgrid.helm.impl.HelmReleaseRepositoryFactory;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads helm releases directly from the release secrets that helm stores in the cluster, without running {@code helm}.
+ * <p>
+ * Release secrets are kept up to date by an informer, so queries are answered from memory. Only the labels of the
+ * secrets are used to list releases and their status; the release itself is decoded when its chart or manifest is
+ * requested.
+ * <p>
+ * This requires the fabric8 {@code kubernetes-client}, which is added by the {@code release-repository} feature of
+ * this library. Only the default {@code secret} storage driver of helm is supported.
+ */
+public interface HelmReleaseRepository extends AutoCloseable {
+
+    /**
+     * Lists the latest revision of releases, like {@code helm list}.
+     * <p>
+     * Without options, deployed and failed releases in the namespace of the kubernetes client are listed. Untyped
+     * {@link ListOption#arguments(String...)} are ignored.
+     *
+     * @param options namespace, name and status filters
+     * @return releases, sorted by name
+     */
+    List<StoredRelease> releases(ListOption... options);
+
+    /**
+     * @param namespace the namespace of the release
+     * @param name the name of the release
+     * @return the latest revision of the release
+     */
+    Optional<StoredRelease> get(String namespace, String name);
+
+    /**
+     * @param namespace the namespace of the release
+     * @param name the name of the release
+     * @return the status of the latest revision of the release
+     */
+    default Optional<String> status(String namespace, String name) {
+        return get(namespace, name).map(HelmRelease::status);
+    }
+
+    /**
+     * @param namespace the namespace of the release
+     * @param name the name of the release
+     * @return the manifest of the latest revision of the release
+     */
+    default Optional<String> manifest(String namespace, String name) {
+        return get(namespace, name).map(StoredRelease::manifest);
+    }
+
+    /**
+     * @param namespace the namespace of the release
+     * @param name the name of the release
+     * @return all stored revisions of the release, oldest first
+     */
+    List<StoredRelease> history(String namespace, String name);
+
+    /**
+     * Stops the informer
+     */
+    @Override
+    void close();
+
+    /**
+     * Creates a repository for the releases in all namespaces
+     *
+     * @param client kubernetes client, which must be allowed to list and watch secrets in all namespaces
+     * @return a repository, with all release secrets already loaded
+     */
+    static HelmReleaseRepository create(KubernetesClient client) {
+        return HelmReleaseRepositoryFactory.create(client, null);
+    }
+
+    /**
+     * Creates a repository for the releases in a single namespace
+     *
+     * @param client kubernetes client, which must be allowed to list and watch secrets in the namespace
+     * @param namespace the namespace to read releases from
+     * @return a repository, with all release secrets already loaded
+     */
+    static HelmReleaseRepository create(KubernetesClient client, String namespace) {
+        return HelmReleaseRepositoryFactory.create(client, namespace);
+    }
+
+    /**
+     * A revision of a release, as stored by helm
+     */
+    interface StoredRelease extends HelmRelease {
+
+        /**
+         * @return the revision number
+         */
+        long version();
+
+        /**
+         * @return the rendered manifests of the revision, as multi-document YAML
+         */
+        String manifest();
+    }
+}
@@ -1,14 +1,28 @@
 package com.contentgrid.helm;
 
 import com.contentgrid.helm.HelmInstallCommand.InstallOptionsHandler;
+import com.fasterxml.jackson.databind.JsonNode;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.stream.Stream;
 import lombok.Value;
 
 public interface HelmTemplateCommand {
 
     TemplateResult chart(String name, String chart, TemplateFlag... flags);
 
+    /**
+     * Renders a chart, parsing the output of helm while it is being written, instead of collecting it first.
+     * <p>
+     * The returned stream must be closed, which stops helm when not all documents were consumed.
+     *
+     * @param name of the helm release, or {@code null} when a name is generated
+     * @param chart a chart reference, a path to a packaged chart, a path to an unpacked chart directory or a URL
+     * @param flags template flags
+     * @return the rendered documents
+     */
+    TemplateStream stream(String name, String chart, TemplateFlag... flags);
+
 
     interface TemplateFlag {
 
@@ -46,5 +60,28 @@ public interface HelmTemplateCommand {
     class TemplateResult {
         String output;
     }
+
+    /**
+     * Documents rendered by {@code helm template}, read incrementally from the helm process
+     */
+    interface TemplateStream extends AutoCloseable {
+
+        /**
+         * Lazily parses the rendered documents, skipping empty documents. Only one stream of documents can be
+         * consumed.
+         * <p>
+         * When helm fails, consuming the stream fails with the error reported by helm. Documents can be converted to
+         * kubernetes objects with the fabric8 {@code KubernetesSerialization#convertValue(Object, Class)}.
+         *
+         * @return stream of rendered documents
+         */
+        Stream<JsonNode> documents();
+
+        /**
+         * Stops helm when it has not finished yet
+         */
+        @Override
+        void close();
+    }
 }
 
@@ -0,0 +1,74 @@
+package com.contentgrid.helm;
+
+import com.contentgrid.helm.HelmInstallCommand.InstallOption;
+import com.contentgrid.helm.HelmInstallCommand.InstallOptionsHandler;
+import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import java.nio.file.Path;
+
+public interface HelmUpgradeCommand {
+
+    /**
+     * Upgrade a release to a new version of a chart, or to new values.
+     *
+     * @param name of the helm release
+     * @param chart a chart reference, a path to a packaged chart, a path to an unpacked chart directory or a URL
+     * @param options upgrade flags
+     */
+    InstallResult chart(String name, String chart, UpgradeOption... options);
+
+    /**
+     * Upgrade a release to a chart referenced by a local path to a packaged or unpacked chart.
+     *
+     * @param name of the helm release
+     * @param chartPath path to the chart
+     * @param options upgrade flags
+     */
+    default InstallResult chart(String name, Path chartPath, UpgradeOption... options) {
+        return this.chart(name, chartPath.toAbsolutePath().normalize().toString(), options);
+    }
+
+    interface UpgradeOption {
+
+        void apply(UpgradeOptionsHandler handler);
+
+        /**
+         * Use an install flag for the upgrade, like {@link InstallOption#namespace(String)} or
+         * {@link InstallOption#values(java.util.Map)}.
+         * <p>
+         * {@link InstallOption#generateName()} has no effect, because the release name is required.
+         * @param option install flag
+         */
+        static UpgradeOption of(InstallOption option) {
+            return option::apply;
+        }
+
+        /**
+         * Install the release when it does not exist yet
+         */
+        static UpgradeOption install() {
+            return UpgradeOptionsHandler::install;
+        }
+
+        /**
+         * Limit the maximum number of revisions saved per release. Use 0 for no limit (default 10)
+         * @param max maximum number of revisions
+         */
+        static UpgradeOption historyMax(int max) {
+            return handler -> handler.historyMax(max);
+        }
+
+        /**
+         * When upgrading, reset the values to the ones built into the chart, instead of reusing the values of the
+         * last release
+         */
+        static UpgradeOption resetValues() {
+            return UpgradeOptionsHandler::resetValues;
+        }
+    }
+
+    interface UpgradeOptionsHandler extends InstallOptionsHandler {
+        void install();
+        void historyMax(int max);
+        void resetValues();
+    }
+}
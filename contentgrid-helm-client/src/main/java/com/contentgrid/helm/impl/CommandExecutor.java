@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 
@@ -45,6 +47,33 @@ public interface CommandExecutor {
         }
     }
 
+    /**
+     * Run the command without blocking the calling thread. Completion is driven by {@link Process#onExit()}, while
+     * stdout and stderr are drained concurrently, so a chatty process can not block on a full pipe.
+     *
+     * @return future that completes with stdout, or completes exceptionally with a {@link CommandException}
+     */
+    default CompletableFuture<String> callAsync(String command, List<String> args) {
+        final Process process;
+        try {
+            process = this.exec(command, args);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        var stdout = ProcessStreams.readLines(process.getInputStream());
+        var stderr = ProcessStreams.readLines(process.getErrorStream());
+
+        return process.onExit()
+                .thenCombine(stdout, (exited, output) -> output)
+                .thenCombine(stderr, (output, errors) -> {
+                    if (process.exitValue() != 0) {
+                        throw new CompletionException(new CommandException(process.exitValue(), errors));
+                    }
+                    return output;
+                });
+    }
+
     class CommandException extends Exception {
 
         private final long exitCode;
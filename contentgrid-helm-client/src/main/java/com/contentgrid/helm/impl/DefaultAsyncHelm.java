@@ -0,0 +1,50 @@
+package com.contentgrid.helm.impl;
+
+import com.contentgrid.helm.AsyncHelm;
+import com.contentgrid.helm.HelmInstallCommand.InstallOption;
+import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import com.contentgrid.helm.HelmUninstallCommand.UninstallOption;
+import com.contentgrid.helm.HelmUninstallCommand.UninstallResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class DefaultAsyncHelm implements AsyncHelm {
+
+    @NonNull
+    private final CommandExecutor executor;
+
+    @NonNull
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public AsyncInstallCommand install() {
+        var command = new DefaultHelmInstallCommand(this.executor, this.objectMapper);
+        return new AsyncInstallCommand() {
+            @Override
+            public CompletableFuture<InstallResult> chart(String name, String chart, InstallOption... options) {
+                return command.installAsync(name, chart, List.of(options));
+            }
+        };
+    }
+
+    @Override
+    public AsyncUninstallCommand uninstall() {
+        var command = new DefaultHelmUninstallCommand(this.executor);
+        return new AsyncUninstallCommand() {
+            @Override
+            public CompletableFuture<UninstallResult> uninstall(String name, UninstallOption... options) {
+                return command.uninstallAsync(name, options);
+            }
+        };
+    }
+
+    @Override
+    public AsyncDependencyCommand dependency() {
+        var command = new DefaultHelmDependencyCommand(this.executor);
+        return command::buildAsync;
+    }
+}
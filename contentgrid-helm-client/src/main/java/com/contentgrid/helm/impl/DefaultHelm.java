@@ -1,5 +1,6 @@
 package com.contentgrid.helm.impl;
 
+import com.contentgrid.helm.AsyncHelm;
 import com.contentgrid.helm.Helm;
 import com.contentgrid.helm.HelmDependencyCommand;
 import com.contentgrid.helm.HelmInstallCommand;
@@ -7,6 +8,7 @@ import com.contentgrid.helm.HelmListCommand;
 import com.contentgrid.helm.HelmRepositoryCommand;
 import com.contentgrid.helm.HelmTemplateCommand;
 import com.contentgrid.helm.HelmUninstallCommand;
+import com.contentgrid.helm.HelmUpgradeCommand;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Map;
 import lombok.NonNull;
@@ -45,6 +47,11 @@ class DefaultHelm implements Helm {
         return new DefaultHelmInstallCommand(this.executor, this.objectMapper);
     }
 
+    @Override
+    public HelmUpgradeCommand upgrade() {
+        return new DefaultHelmUpgradeCommand(this.executor, this.objectMapper);
+    }
+
     @Override
     public HelmUninstallCommand uninstall() {
         return new DefaultHelmUninstallCommand(this.executor);
@@ -55,6 +62,11 @@ class DefaultHelm implements Helm {
         return new DefaultHelmTemplateCommand(this.executor, this.objectMapper);
     }
 
+    @Override
+    public AsyncHelm async() {
+        return new DefaultAsyncHelm(this.executor, this.objectMapper);
+    }
+
     @Override
     public Map<String, String> environment() {
         return this.executor.environment();
@@ -33,6 +33,12 @@ public class DefaultHelmBuilder implements HelmBuilder {
     @With
     private Path dataHome;
 
+    /**
+     * The path to set an alternative location for storing cached files.
+     */
+    @With
+    private Path cacheHome;
+
     /**
      * The path to the repositories configuration file.
      */
@@ -73,6 +79,10 @@ public class DefaultHelmBuilder implements HelmBuilder {
             env.put("HELM_DATA_HOME", this.dataHome.toAbsolutePath().toString());
         }
 
+        if (this.cacheHome != null) {
+            env.put("HELM_CACHE_HOME", this.cacheHome.toAbsolutePath().toString());
+        }
+
         if (this.repositoryConfig != null) {
             env.put("HELM_REPOSITORY_CONFIG", this.repositoryConfig.toAbsolutePath().toString());
         }
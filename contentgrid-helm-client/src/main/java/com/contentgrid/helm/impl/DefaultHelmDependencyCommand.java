@@ -1,11 +1,14 @@
 package com.contentgrid.helm.impl;
 
 import com.contentgrid.helm.HelmDependencyCommand;
+import com.contentgrid.helm.HelmDependencyCommand.DependencyBuildOptionsHandler;
 import com.contentgrid.helm.HelmDependencyCommand.HelmDependency;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -38,8 +41,26 @@ class DefaultHelmDependencyCommand implements HelmDependencyCommand {
 
     @Override
     @SneakyThrows
-    public void build(@NonNull String chart) {
-        this.executor.call(CMD_DEPENDENCY, "build", chart);
+    public void build(@NonNull String chart, DependencyBuildOption... options) {
+        this.executor.call(CMD_DEPENDENCY, buildArguments(chart, options));
+    }
+
+    CompletableFuture<Void> buildAsync(@NonNull String chart, DependencyBuildOption... options) {
+        return this.executor.callAsync(CMD_DEPENDENCY, buildArguments(chart, options))
+                .thenApply(stdout -> null);
+    }
+
+    private static List<String> buildArguments(String chart, DependencyBuildOption... options) {
+        List<String> args = new ArrayList<>();
+        args.add("build");
+        args.add(chart);
+
+        var handler = new DefaultDependencyBuildOptionsHandler(args);
+        for (var option : options) {
+            option.apply(handler);
+        }
+
+        return args;
     }
 
     private static HelmDependency createHelmDependency(String name, String version, String repository, String status) {
@@ -48,6 +69,23 @@ class DefaultHelmDependencyCommand implements HelmDependencyCommand {
 
 }
 
+@RequiredArgsConstructor
+class DefaultDependencyBuildOptionsHandler implements DependencyBuildOptionsHandler {
+
+    @NonNull
+    private final List<String> arguments;
+
+    @Override
+    public void skipRefresh() {
+        arguments.add("--skip-refresh");
+    }
+
+    @Override
+    public void arguments(String... args) {
+        arguments.addAll(Arrays.asList(args));
+    }
+}
+
 record DefaultHelmDependency(String name, String version, URI repository, String status) implements HelmDependency {
 
 }
@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +36,17 @@ class DefaultHelmInstallCommand implements HelmInstallCommand {
 
     @SneakyThrows
     private InstallResult install(@NonNull String name, @NonNull String chart, @NonNull List<InstallOption> options) {
+        var stdout = this.executor.call(CMD_INSTALL, this.arguments(name, chart, options));
+        return parseResult(this.objectMapper, stdout);
+    }
+
+    CompletableFuture<InstallResult> installAsync(String name, @NonNull String chart, @NonNull List<InstallOption> options) {
+        var args = this.arguments(name != null ? name : "", chart, options);
+        return this.executor.callAsync(CMD_INSTALL, args)
+                .thenApply(stdout -> parseResult(this.objectMapper, stdout));
+    }
 
+    private List<String> arguments(@NonNull String name, @NonNull String chart, @NonNull List<InstallOption> options) {
         List<String> args = new ArrayList<>();
 
         // name is optional with --generate-name
@@ -54,20 +65,23 @@ class DefaultHelmInstallCommand implements HelmInstallCommand {
         // using json output to parse result
         args.addAll(List.of("--output", "json"));
 
-        var stdout = this.executor.call(CMD_INSTALL, args);
+        return args;
+    }
 
+    @SneakyThrows
+    static InstallResult parseResult(ObjectMapper objectMapper, String stdout) {
         // In case of OCI artifacts, helm likes to insert some additional lines before the JSON response
         // that say the image was pulled, and what it's digest was.
         // Drop them here, as we only want to parse the installation result JSON
         var jsonStart = stdout.indexOf('{');
-        return this.objectMapper.readValue(stdout.substring(jsonStart), DefaultInstallResult.class);
+        return objectMapper.readValue(stdout.substring(jsonStart), DefaultInstallResult.class);
     }
 
 }
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 record DefaultInstallResult(String name, String namespace, long version, Map<String, String> info,
-                            Map<String, Object> chart) implements InstallResult {
+                            Map<String, Object> chart, String manifest) implements InstallResult {
 
 }
 
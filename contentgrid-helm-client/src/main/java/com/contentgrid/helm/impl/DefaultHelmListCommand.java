@@ -8,6 +8,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -36,12 +37,49 @@ public class DefaultHelmListCommand implements HelmListCommand {
         args.addAll(List.of("--output", "json"));
         args.addAll(List.of("--time-format", RFC3339));
 
+        var handler = new DefaultListOptionsHandler(args);
+        for (var option : options) {
+            option.apply(handler);
+        }
+
         var stdout = String.join(System.lineSeparator(), this.executor.call(CMD_LIST, args));
 
         return objectMapper.readValue(stdout, RELEASES_TYPEREF)
                 .stream().map(HelmRelease.class::cast).toList();
     }
 
+    @RequiredArgsConstructor
+    private static class DefaultListOptionsHandler implements ListOptionsHandler {
+        @NonNull
+        protected final List<String> arguments;
+
+        @Override
+        public void namespace(String namespace) {
+            arguments.add("--namespace");
+            arguments.add(namespace);
+        }
+
+        @Override
+        public void allNamespaces() {
+            arguments.add("--all-namespaces");
+        }
+
+        @Override
+        public void filter(String regex) {
+            arguments.add("--filter");
+            arguments.add(regex);
+        }
+
+        @Override
+        public void status(ReleaseStatus status) {
+            arguments.add(status.flag());
+        }
+
+        @Override
+        public void arguments(String... args) {
+            arguments.addAll(Arrays.asList(args));
+        }
+    }
 
 }
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -25,9 +25,20 @@ class DefaultHelmTemplateCommand implements HelmTemplateCommand {
         return this.exec(name != null ? name : "", chart, List.of(options));
     }
 
+    @Override
+    public TemplateStream stream(String name, String chart, TemplateFlag... flags) {
+        var args = this.arguments(name != null ? name : "", chart, List.of(flags));
+        return new DefaultTemplateStream(this.executor.exec(CMD_TEMPLATE, args));
+    }
+
     @SneakyThrows
     private TemplateResult exec(@NonNull String name, @NonNull String chart, @NonNull List<TemplateFlag> flags) {
+        var stdout = this.executor.call(CMD_TEMPLATE, this.arguments(name, chart, flags));
+
+        return new TemplateResult(stdout);
+    }
 
+    private List<String> arguments(@NonNull String name, @NonNull String chart, @NonNull List<TemplateFlag> flags) {
         List<String> args = new ArrayList<>();
 
         // name is optional with --generate-name
@@ -44,9 +55,7 @@ class DefaultHelmTemplateCommand implements HelmTemplateCommand {
             flag.apply(handler);
         });
 
-        var stdout = this.executor.call(CMD_TEMPLATE, args);
-
-        return new TemplateResult(stdout);
+        return args;
     }
 }
 
@@ -4,6 +4,7 @@ import com.contentgrid.helm.HelmUninstallCommand;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -19,6 +20,19 @@ public class DefaultHelmUninstallCommand implements HelmUninstallCommand {
     @Override
     @SneakyThrows
     public UninstallResult uninstall(@NonNull String name, UninstallOption... options) {
+        executor.call(CMD_UNINSTALL, arguments(name, options));
+
+        return new UninstallResult() {
+        };
+    }
+
+    CompletableFuture<UninstallResult> uninstallAsync(@NonNull String name, UninstallOption... options) {
+        return executor.callAsync(CMD_UNINSTALL, arguments(name, options))
+                .thenApply(stdout -> new UninstallResult() {
+                });
+    }
+
+    private static List<String> arguments(String name, UninstallOption... options) {
         List<String> args = new ArrayList<>();
         args.add(name);
 
@@ -27,10 +41,7 @@ public class DefaultHelmUninstallCommand implements HelmUninstallCommand {
             option.apply(handler);
         }
 
-        executor.call(CMD_UNINSTALL, args);
-
-        return new UninstallResult() {
-        };
+        return args;
     }
 
     @RequiredArgsConstructor
@@ -0,0 +1,66 @@
+package com.contentgrid.helm.impl;
+
+import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import com.contentgrid.helm.HelmUpgradeCommand;
+import com.contentgrid.helm.HelmUpgradeCommand.UpgradeOptionsHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+@RequiredArgsConstructor
+class DefaultHelmUpgradeCommand implements HelmUpgradeCommand {
+
+    private static final String CMD_UPGRADE = "upgrade";
+
+    @NonNull
+    private final CommandExecutor executor;
+
+    @NonNull
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @SneakyThrows
+    public InstallResult chart(@NonNull String name, @NonNull String chart, UpgradeOption... options) {
+        List<String> args = new ArrayList<>();
+        args.add(name);
+        args.add(chart);
+
+        var handler = new DefaultUpgradeOptionsHandler(args, this.objectMapper);
+        for (UpgradeOption option : options) {
+            option.apply(handler);
+        }
+
+        // using json output to parse result
+        args.addAll(List.of("--output", "json"));
+
+        var stdout = this.executor.call(CMD_UPGRADE, args);
+        return DefaultHelmInstallCommand.parseResult(this.objectMapper, stdout);
+    }
+}
+
+class DefaultUpgradeOptionsHandler extends DefaultInstallOptionsHandler implements UpgradeOptionsHandler {
+
+    public DefaultUpgradeOptionsHandler(@NonNull List<String> arguments, @NonNull ObjectMapper objectMapper) {
+        // the release name is always present
+        super(arguments, objectMapper, true);
+    }
+
+    @Override
+    public void install() {
+        arguments.add("--install");
+    }
+
+    @Override
+    public void historyMax(int max) {
+        arguments.add("--history-max");
+        arguments.add(Integer.toString(max));
+    }
+
+    @Override
+    public void resetValues() {
+        arguments.add("--reset-values");
+    }
+}
@@ -0,0 +1,116 @@
+package com.contentgrid.helm.impl;
+
+import com.contentgrid.helm.HelmTemplateCommand.TemplateStream;
+import com.contentgrid.helm.impl.CommandExecutor.CommandException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Parses the documents that a running {@code helm template} process writes to stdout
+ */
+@Slf4j
+class DefaultTemplateStream implements TemplateStream {
+
+    private static final YAMLMapper YAML_MAPPER = new YAMLMapper();
+    private static final Duration EXIT_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Process process;
+
+    // drained concurrently, so helm can not block on a full stderr pipe while stdout is being parsed
+    private final CompletableFuture<String> stderr;
+
+    private final AtomicBoolean consumed = new AtomicBoolean();
+
+    DefaultTemplateStream(@NonNull Process process) {
+        this.process = process;
+        this.stderr = ProcessStreams.readLines(process.getErrorStream());
+    }
+
+    @Override
+    public Stream<JsonNode> documents() {
+        if (!consumed.compareAndSet(false, true)) {
+            throw new IllegalStateException("Rendered documents can only be consumed once");
+        }
+
+        final MappingIterator<JsonNode> iterator;
+        try {
+            iterator = YAML_MAPPER.readerFor(JsonNode.class).readValues(process.getInputStream());
+        } catch (IOException e) {
+            throw failure(e);
+        }
+
+        var spliterator = new Spliterators.AbstractSpliterator<JsonNode>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super JsonNode> action) {
+                try {
+                    while (iterator.hasNextValue()) {
+                        var document = iterator.nextValue();
+                        // documents that only contain a '# Source:' comment are empty
+                        if (document != null && !document.isNull() && !document.isMissingNode()) {
+                            action.accept(document);
+                            return true;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw failure(e);
+                }
+                checkExitCode();
+                return false;
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @SneakyThrows({CommandException.class, InterruptedException.class})
+    private void checkExitCode() {
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new CommandException(exitCode, stderr.join());
+        }
+    }
+
+    /**
+     * When helm fails while rendering, its partial output is usually not valid YAML, so the error of helm is reported
+     * instead of the parse error
+     */
+    @SneakyThrows({CommandException.class, InterruptedException.class})
+    private RuntimeException failure(IOException e) {
+        // helm stops writing when its output is no longer read, so it is only given a moment to exit by itself
+        if (!process.waitFor(EXIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroy();
+        } else if (process.exitValue() != 0) {
+            throw new CommandException(process.exitValue(), stderr.join());
+        }
+        return new UncheckedIOException("Failed to parse rendered documents", e);
+    }
+
+    @Override
+    public void close() {
+        if (process.isAlive()) {
+            log.debug("Stopping helm template, not all rendered documents were consumed");
+            process.destroy();
+        }
+        try {
+            process.getInputStream().close();
+        } catch (IOException e) {
+            log.debug("Failed to close helm template output: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.contentgrid.helm.impl;
+
+import com.contentgrid.helm.HelmReleaseRepository;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Creates the {@link HelmReleaseRepository} implementation, see {@link HelmReleaseRepository#create(KubernetesClient)}
+ */
+@UtilityClass
+public class HelmReleaseRepositoryFactory {
+
+    /**
+     * @param client kubernetes client
+     * @param namespace the namespace to read releases from, or {@code null} for all namespaces
+     * @return a repository, with all release secrets already loaded
+     */
+    public HelmReleaseRepository create(@NonNull KubernetesClient client, String namespace) {
+        return InformerHelmReleaseRepository.create(client, namespace);
+    }
+}
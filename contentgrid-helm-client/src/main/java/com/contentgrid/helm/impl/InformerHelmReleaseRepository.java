@@ -0,0 +1,359 @@
+package com.contentgrid.helm.impl;
+
+import com.contentgrid.helm.HelmListCommand.HelmRelease;
+import com.contentgrid.helm.HelmListCommand.ListOption;
+import com.contentgrid.helm.HelmListCommand.ListOptionsHandler;
+import com.contentgrid.helm.HelmListCommand.ReleaseStatus;
+import com.contentgrid.helm.HelmReleaseRepository;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.fabric8.kubernetes.api.model.Secret;
+import io.fabric8.kubernetes.api.model.SecretList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link HelmReleaseRepository} that keeps the release secrets of helm in an informer
+ */
+@Slf4j
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class InformerHelmReleaseRepository implements HelmReleaseRepository {
+
+    private static final String RELEASE_INDEX = "release";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    // helm lists deployed and failed releases by default
+    private static final Set<ReleaseStatus> DEFAULT_STATUSES = EnumSet.of(ReleaseStatus.DEPLOYED, ReleaseStatus.FAILED);
+
+    @NonNull
+    private final SharedIndexInformer<Secret> informer;
+
+    @NonNull
+    private final String defaultNamespace;
+
+    // Releases that have been read, keyed by the uid of their secret, so they are only decoded once
+    private final Map<String, SecretRelease> releases = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a repository, and waits until all release secrets are loaded
+     *
+     * @param client kubernetes client
+     * @param namespace the namespace to read releases from, or {@code null} for all namespaces
+     */
+    static InformerHelmReleaseRepository create(@NonNull KubernetesClient client, String namespace) {
+        FilterWatchListDeletable<Secret, SecretList, Resource<Secret>> secrets;
+        if (namespace == null) {
+            secrets = client.secrets().inAnyNamespace();
+        } else {
+            secrets = client.secrets().inNamespace(namespace);
+        }
+
+        var informer = secrets.withLabel("owner", "helm").runnableInformer(0);
+        informer.addIndexers(Map.of(RELEASE_INDEX, secret -> List.of(
+                releaseKey(secret.getMetadata().getNamespace(), releaseName(secret)))));
+
+        var repository = new InformerHelmReleaseRepository(informer,
+                Objects.requireNonNullElse(namespace, Objects.requireNonNullElse(client.getNamespace(), "default")));
+        informer.addEventHandler(new ResourceEventHandler<>() {
+            @Override
+            public void onAdd(Secret obj) {
+            }
+
+            @Override
+            public void onUpdate(Secret oldObj, Secret newObj) {
+            }
+
+            @Override
+            public void onDelete(Secret obj, boolean deletedFinalStateUnknown) {
+                repository.releases.remove(obj.getMetadata().getUid());
+            }
+        });
+
+        informer.start().toCompletableFuture().join();
+        return repository;
+    }
+
+    private static String releaseKey(String namespace, String name) {
+        return namespace + "/" + name;
+    }
+
+    private static String releaseName(Secret secret) {
+        return secret.getMetadata().getLabels().get("name");
+    }
+
+    private static long releaseVersion(Secret secret) {
+        return Long.parseLong(secret.getMetadata().getLabels().getOrDefault("version", "0"));
+    }
+
+    private StoredRelease release(Secret secret) {
+        return releases.compute(secret.getMetadata().getUid(), (uid, cached) -> {
+            if (cached != null && Objects.equals(cached.resourceVersion, secret.getMetadata().getResourceVersion())) {
+                return cached;
+            }
+            return new SecretRelease(secret);
+        });
+    }
+
+    @Override
+    public List<StoredRelease> releases(ListOption... options) {
+        var query = new ReleaseQuery(defaultNamespace);
+        for (var option : options) {
+            option.apply(query);
+        }
+
+        var candidates = informer.getStore().list()
+                .stream()
+                .filter(query::matchesNamespace)
+                .filter(query::matchesName);
+
+        // Superseded releases are never the latest revision, so listing only superseded releases lists all revisions
+        if (!query.statuses().equals(EnumSet.of(ReleaseStatus.SUPERSEDED))) {
+            candidates = candidates.collect(Collectors.toMap(
+                            secret -> releaseKey(secret.getMetadata().getNamespace(), releaseName(secret)),
+                            Function.identity(),
+                            (first, second) -> releaseVersion(first) >= releaseVersion(second) ? first : second))
+                    .values()
+                    .stream();
+        }
+
+        return candidates
+                .map(this::release)
+                .filter(query::matchesStatus)
+                .sorted(Comparator.comparing(HelmRelease::name).thenComparing(HelmRelease::namespace))
+                .toList();
+    }
+
+    @Override
+    public Optional<StoredRelease> get(@NonNull String namespace, @NonNull String name) {
+        return informer.getIndexer().byIndex(RELEASE_INDEX, releaseKey(namespace, name))
+                .stream()
+                .max(Comparator.comparingLong(InformerHelmReleaseRepository::releaseVersion))
+                .map(this::release);
+    }
+
+    @Override
+    public List<StoredRelease> history(@NonNull String namespace, @NonNull String name) {
+        return informer.getIndexer().byIndex(RELEASE_INDEX, releaseKey(namespace, name))
+                .stream()
+                .sorted(Comparator.comparingLong(InformerHelmReleaseRepository::releaseVersion))
+                .map(this::release)
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        informer.close();
+        releases.clear();
+    }
+
+    /**
+     * Applies {@link ListOption}s as filters on the release secrets, the way {@code helm list} does
+     */
+    @RequiredArgsConstructor
+    private static class ReleaseQuery implements ListOptionsHandler {
+        @NonNull
+        private String namespace;
+        private boolean allNamespaces = false;
+        private Pattern filter = null;
+        private final Set<ReleaseStatus> statuses = EnumSet.noneOf(ReleaseStatus.class);
+
+        @Override
+        public void namespace(String namespace) {
+            this.namespace = namespace;
+        }
+
+        @Override
+        public void allNamespaces() {
+            this.allNamespaces = true;
+        }
+
+        @Override
+        public void filter(String regex) {
+            this.filter = Pattern.compile(regex);
+        }
+
+        @Override
+        public void status(ReleaseStatus status) {
+            this.statuses.add(status);
+        }
+
+        @Override
+        public void arguments(String... args) {
+            // untyped arguments are meant for the helm command line, and have no meaning for stored releases
+            log.debug("Ignoring arguments {} when listing stored releases", List.of(args));
+        }
+
+        Set<ReleaseStatus> statuses() {
+            return statuses.isEmpty() ? DEFAULT_STATUSES : statuses;
+        }
+
+        boolean matchesNamespace(Secret secret) {
+            return allNamespaces || namespace.equals(secret.getMetadata().getNamespace());
+        }
+
+        boolean matchesName(Secret secret) {
+            return filter == null || filter.matcher(releaseName(secret)).find();
+        }
+
+        boolean matchesStatus(HelmRelease release) {
+            return statuses().stream().anyMatch(status -> status.matches(release.status()));
+        }
+    }
+
+    /**
+     * A release that is read from its secret. The labels of the secret describe the release; the release itself is
+     * only decoded when it is needed.
+     */
+    private static class SecretRelease implements StoredRelease {
+        private final String resourceVersion;
+        private final String name;
+        private final String namespace;
+        private final long version;
+        private final String status;
+        private final String encodedRelease;
+        private volatile DecodedRelease decoded;
+
+        SecretRelease(Secret secret) {
+            this.resourceVersion = secret.getMetadata().getResourceVersion();
+            this.name = releaseName(secret);
+            this.namespace = secret.getMetadata().getNamespace();
+            this.version = releaseVersion(secret);
+            this.status = secret.getMetadata().getLabels().get("status");
+            this.encodedRelease = secret.getData().get("release");
+        }
+
+        private DecodedRelease decoded() {
+            if (decoded == null) {
+                decoded = decode(encodedRelease);
+            }
+            return decoded;
+        }
+
+        @Override
+        public String appVersion() {
+            return decoded().chartMetadata().appVersion();
+        }
+
+        @Override
+        public String chart() {
+            var metadata = decoded().chartMetadata();
+            return metadata.name() + "-" + metadata.version();
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String namespace() {
+            return namespace;
+        }
+
+        @Override
+        public String revision() {
+            return Long.toString(version);
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public String status() {
+            return status;
+        }
+
+        @Override
+        public ZonedDateTime updated() {
+            return Optional.ofNullable(decoded().info())
+                    .map(ReleaseInfo::lastDeployed)
+                    .map(ZonedDateTime::parse)
+                    .orElse(null);
+        }
+
+        @Override
+        public String manifest() {
+            return decoded().manifest();
+        }
+
+        @Override
+        public String toString() {
+            return "release %s/%s v%d (%s)".formatted(namespace, name, version, status);
+        }
+    }
+
+    /**
+     * Decodes a release, as stored in a secret: the JSON release is gzipped and base64-encoded by helm, and then
+     * base64-encoded once more as secret data
+     */
+    private static DecodedRelease decode(String encodedRelease) {
+        var release = Base64.getDecoder().decode(Base64.getDecoder().decode(encodedRelease));
+        try (var stream = decompress(release)) {
+            return OBJECT_MAPPER.readValue(stream, DecodedRelease.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode helm release", e);
+        }
+    }
+
+    private static InputStream decompress(byte[] release) throws IOException {
+        var stream = new ByteArrayInputStream(release);
+        // helm only stores uncompressed releases when compression is explicitly disabled
+        if (release.length > 1 && release[0] == (byte) 0x1f && release[1] == (byte) 0x8b) {
+            return new GZIPInputStream(stream);
+        }
+        return stream;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record DecodedRelease(ReleaseInfo info, ReleaseChart chart, String manifest) {
+
+        ChartMetadata chartMetadata() {
+            return Optional.ofNullable(chart)
+                    .map(ReleaseChart::metadata)
+                    .orElseGet(() -> new ChartMetadata(null, null, null));
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ReleaseInfo(@JsonProperty("last_deployed") String lastDeployed) {
+
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ReleaseChart(ChartMetadata metadata) {
+
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ChartMetadata(String name, String version, String appVersion) {
+
+    }
+}
@@ -0,0 +1,42 @@
+package com.contentgrid.helm.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Drains process output streams on dedicated daemon threads, so that blocking reads do not occupy the common pool.
+ */
+@UtilityClass
+class ProcessStreams {
+
+    private final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ExecutorService READERS = Executors.newCachedThreadPool(runnable -> {
+        var thread = new Thread(runnable, "helm-process-reader-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @return future with all lines of the stream, joined with {@link System#lineSeparator()}
+     */
+    CompletableFuture<String> readLines(InputStream stream) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+                return reader.lines().collect(Collectors.joining(System.lineSeparator()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, READERS);
+    }
+}
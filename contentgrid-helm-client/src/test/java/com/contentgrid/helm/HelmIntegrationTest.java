@@ -3,11 +3,15 @@ package com.contentgrid.helm;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.contentgrid.helm.HelmInstallCommand.InstallOption;
+import com.contentgrid.helm.HelmListCommand.ListOption;
+import com.contentgrid.helm.HelmListCommand.ReleaseStatus;
+import com.contentgrid.helm.HelmUpgradeCommand.UpgradeOption;
 import com.contentgrid.junit.jupiter.k8s.KubernetesTestCluster;
 import io.fabric8.kubernetes.api.model.Namespace;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -45,6 +49,7 @@ class HelmIntegrationTest {
         assertThat(result.name()).isEqualTo("nginx");
         assertThat(result.version()).isEqualTo(1);
         assertThat(result.namespace()).isEqualTo(namespace.getMetadata().getName());
+        assertThat(result.manifest()).contains("kind: Deployment");
 
         var pods = kubernetesClient.pods().withLabel("foo", "bar").list().getItems();
         Assertions.assertThat(pods).hasSize(1);
@@ -69,4 +74,84 @@ class HelmIntegrationTest {
 
         helm.uninstall().uninstall(result.name());
     }
-}
\ No newline at end of file
+
+    @Test
+    void installAsync() {
+        var nginx = "oci://registry-1.docker.io/bitnamicharts/nginx:20.0.5";
+        var first = helm.async().install().chart("nginx-first", nginx);
+        var second = helm.async().install().chart("nginx-second", nginx);
+
+        CompletableFuture.allOf(first, second).join();
+
+        // other tests share the namespace, only look at the releases of this test
+        var releases = ListOption.filter("^nginx-(first|second)$");
+        assertThat(helm.list().releases(releases))
+                .extracting(HelmListCommand.HelmRelease::name)
+                .containsExactlyInAnyOrder("nginx-first", "nginx-second");
+
+        CompletableFuture.allOf(
+                helm.async().uninstall().uninstall("nginx-first"),
+                helm.async().uninstall().uninstall("nginx-second")
+        ).join();
+
+        assertThat(helm.list().releases(releases)).isEmpty();
+    }
+
+    @Test
+    void upgrade() {
+        var nginx = "oci://registry-1.docker.io/bitnamicharts/nginx:20.0.5";
+        var installed = helm.upgrade().chart("nginx-upgrade", nginx, UpgradeOption.install());
+        try {
+            assertThat(installed.version()).isEqualTo(1);
+
+            var upgraded = helm.upgrade().chart("nginx-upgrade", nginx,
+                    UpgradeOption.of(InstallOption.values(Map.of("replicaCount", 2))),
+                    UpgradeOption.resetValues(),
+                    UpgradeOption.historyMax(2));
+            assertThat(upgraded.name()).isEqualTo("nginx-upgrade");
+            assertThat(upgraded.version()).isEqualTo(2);
+        } finally {
+            helm.uninstall().uninstall("nginx-upgrade");
+        }
+    }
+
+    @Test
+    void releaseRepository() {
+        var nginx = "oci://registry-1.docker.io/bitnamicharts/nginx:20.0.5";
+        var namespaceName = namespace.getMetadata().getName();
+        helm.upgrade().chart("nginx-repository", nginx, UpgradeOption.install());
+        try {
+            helm.upgrade().chart("nginx-repository", nginx,
+                    UpgradeOption.of(InstallOption.values(Map.of("replicaCount", 2))));
+
+            try (var repository = HelmReleaseRepository.create(kubernetesClient, namespaceName)) {
+                var releaseName = ListOption.filter("^nginx-repository$");
+                assertThat(repository.releases(releaseName)).singleElement().satisfies(release -> {
+                    assertThat(release.name()).isEqualTo("nginx-repository");
+                    assertThat(release.revision()).isEqualTo("2");
+                    assertThat(release.status()).isEqualTo("deployed");
+                    assertThat(release.chart()).isEqualTo("nginx-20.0.5");
+                });
+                assertThat(repository.releases(releaseName, ListOption.status(ReleaseStatus.SUPERSEDED)))
+                        .singleElement()
+                        .extracting(HelmReleaseRepository.StoredRelease::version)
+                        .isEqualTo(1L);
+                assertThat(repository.releases(ListOption.filter("^other"))).isEmpty();
+                // untyped arguments only apply to the helm command line
+                assertThat(repository.releases(releaseName, ListOption.arguments("--max", "1"))).hasSize(1);
+                assertThat(repository.history(namespaceName, "nginx-repository"))
+                        .extracting(HelmListCommand.HelmRelease::status)
+                        .containsExactly("superseded", "deployed");
+                assertThat(repository.manifest(namespaceName, "nginx-repository"))
+                        .hasValueSatisfying(manifest -> assertThat(manifest).contains("kind: Deployment"));
+            }
+
+            assertThat(helm.list().releases(ListOption.filter("^nginx-repository$"), ListOption.namespace(namespaceName)))
+                    .singleElement()
+                    .extracting(HelmListCommand.HelmRelease::revision)
+                    .isEqualTo("2");
+        } finally {
+            helm.uninstall().uninstall("nginx-repository");
+        }
+    }
+}
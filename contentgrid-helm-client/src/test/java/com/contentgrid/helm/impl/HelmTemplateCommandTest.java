@@ -2,6 +2,7 @@ package com.contentgrid.helm.impl;
 
 import com.contentgrid.helm.Helm;
 import com.contentgrid.helm.HelmTemplateCommand.TemplateFlag;
+import com.contentgrid.helm.impl.CommandExecutor.CommandException;
 import java.util.Map;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -34,4 +35,40 @@ class HelmTemplateCommandTest {
                   namespace: cilium
                 """);
     }
-}
\ No newline at end of file
+
+    @Test
+    void ciliumStreamed() {
+
+        var helm = Helm.builder().build();
+
+        try (var rendered = helm.template()
+                .stream("cilium", "cilium",
+                        TemplateFlag.repo("https://helm.cilium.io/"),
+                        TemplateFlag.namespace("cilium"),
+                        TemplateFlag.version("1.14.6")
+                )) {
+
+            // stops reading when the operator deployment is found
+            var operator = rendered.documents()
+                    .filter(document -> document.path("kind").asText().equals("Deployment"))
+                    .filter(document -> document.path("metadata").path("name").asText().equals("cilium-operator"))
+                    .findFirst();
+
+            Assertions.assertThat(operator).hasValueSatisfying(document -> {
+                Assertions.assertThat(document.path("apiVersion").asText()).isEqualTo("apps/v1");
+                Assertions.assertThat(document.path("metadata").path("namespace").asText()).isEqualTo("cilium");
+            });
+        }
+    }
+
+    @Test
+    void streamedFailure() {
+
+        var helm = Helm.builder().build();
+
+        try (var rendered = helm.template().stream("missing", "/nonexistent/chart")) {
+            Assertions.assertThatThrownBy(() -> rendered.documents().count())
+                    .isInstanceOf(CommandException.class);
+        }
+    }
+}
@@ -19,6 +19,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
  * - Environment variables: `DOCKER_AUTH_CONFIG`
  * - Docker config at location specified in `DOCKER_CONFIG` or at `{HOME}/.docker/config.json`
  *
+ * <p>Mirrors are started concurrently, and shared by all test classes in the test run that declare a mirror with the
+ * same name, proxy and host path. When Testcontainers reuse is enabled ({@code testcontainers.reuse.enable=true}), a
+ * mirror that is already running from an earlier or concurrent run with the same configuration is reused.
+ *
  * <p>This behaviour can be disabled with the system property {@code contentgrid.registryCache.disabled},
  * as it might not be desired in continuous integration tests.
  *
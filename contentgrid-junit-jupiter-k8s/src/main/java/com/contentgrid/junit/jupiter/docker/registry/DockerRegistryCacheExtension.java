@@ -10,6 +10,10 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +28,7 @@ import org.junit.platform.commons.support.AnnotationSupport;
 import org.testcontainers.lifecycle.Startable;
 import org.testcontainers.utility.DockerImageName;
 import org.testcontainers.utility.RegistryAuthLocator;
+import org.testcontainers.utility.TestcontainersConfiguration;
 
 @Slf4j
 public class DockerRegistryCacheExtension implements BeforeAllCallback {
@@ -58,20 +63,48 @@ public class DockerRegistryCacheExtension implements BeforeAllCallback {
         }
 
         var store = context.getStore(DOCKERMIRROR_NAMESPACE);
-
-        // create a distribution-registry-mirror for each annotation
-        annotations.forEach(annotation -> {
-
-            // create and start registry mirror container
-            var mirror = (DockerRegistryCacheContainer) store.getOrComputeIfAbsent(
-                    "registry:%s".formatted(annotation.name()),
-                    mirrorName -> createContainer(annotation).start()
-            );
+        // registry mirrors are shared by all test classes, and stopped when the root store is closed at the end of the run
+        var rootStore = context.getRoot().getStore(DOCKERMIRROR_NAMESPACE);
+
+        // create and start a distribution-registry-mirror for each annotation, concurrently
+        var threadCounter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(annotations.size(), runnable -> {
+            var thread = new Thread(runnable, "registry-cache-start-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var started = annotations.stream()
+                    .map(annotation -> CompletableFuture.supplyAsync(() -> rootStore.getOrComputeIfAbsent(
+                            registryKey(annotation),
+                            key -> createContainer(annotation).start(),
+                            DockerRegistryCacheContainer.class
+                    ), executor))
+                    .toList();
 
             // maintain a list of mirrors
             var mirrors = (Set<String>) store.getOrComputeIfAbsent("mirrors", (key) -> new HashSet<>());
-            mirrors.add(mirror.getKey());
-        });
+            for (var future : started) {
+                var mirror = future.join();
+                // the class store only holds the endpoint, so the container is not stopped when the class is done
+                store.put(mirror.getKey(), new MirrorEndpoint(mirror.getName(), mirror.getURI()));
+                mirrors.add(mirror.getKey());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Key of a registry mirror in the root store: mirrors are only shared when they are configured the same way
+     */
+    private static String registryKey(DockerRegistryCache annotation) {
+        return "registry:%s[proxy=%s,hostPath=%s]".formatted(annotation.name(), annotation.proxy(), annotation.hostPath());
     }
 
     public static Set<String> getMirrors(@NonNull ExtensionContext context) {
@@ -99,6 +132,8 @@ public class DockerRegistryCacheExtension implements BeforeAllCallback {
 
         var registryStorageHostPath = hostPathPrefix + "docker-registry-%s".formatted(annotation.name());
         var container = new DistributionRegistryContainer()
+                // a mirror with the same storage is reused across runs and concurrent JVMs, when reuse is enabled
+                .withReuse(true)
                 .withCreateContainerCmdModifier(cmd ->
                 {
                     // optionally rename the container
@@ -168,7 +203,27 @@ public class DockerRegistryCacheExtension implements BeforeAllCallback {
 
         @Override
         public void close() {
+            if (TestcontainersConfiguration.getInstance().environmentSupportsReuse()) {
+                // Keep running, so the next run can reuse the mirror
+                return;
+            }
             container.stop();
         }
     }
+
+    /**
+     * The endpoint of a registry mirror, as seen by a single test class
+     */
+    private record MirrorEndpoint(String name, URI uri) implements DockerRegistryEndpoint {
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Extracts the container images that are referenced by rendered kubernetes manifests
+ */
+@UtilityClass
+class ChartImages {
+
+    private final Set<String> CONTAINER_FIELDS = Set.of("containers", "initContainers", "ephemeralContainers");
+
+    /**
+     * Finds the images of all containers in the manifests, at any depth, so images in pod templates of workloads and
+     * of custom resources are found as well
+     *
+     * @param documents parsed manifests, as streamed from {@code helm template}
+     * @return the referenced images
+     */
+    Set<String> extract(Stream<JsonNode> documents) {
+        var images = new TreeSet<String>();
+        documents.forEach(document -> collect(document, images));
+        return images;
+    }
+
+    private void collect(JsonNode node, Set<String> images) {
+        if (node == null) {
+            return;
+        }
+        if (node.isArray()) {
+            node.forEach(child -> collect(child, images));
+            return;
+        }
+        for (var field : node.properties()) {
+            if (CONTAINER_FIELDS.contains(field.getKey()) && field.getValue().isArray()) {
+                for (var container : field.getValue()) {
+                    var image = container.path("image");
+                    if (image.isTextual() && !image.asText().isBlank()) {
+                        images.add(image.asText());
+                    }
+                }
+            }
+            collect(field.getValue(), images);
+        }
+    }
+}
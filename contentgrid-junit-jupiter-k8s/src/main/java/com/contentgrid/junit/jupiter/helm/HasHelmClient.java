@@ -27,11 +27,18 @@ public interface HasHelmClient {
                 builder = builder.withKubeConfig(kubeconfig.get());
             }
 
-            try {
-                // configure helm with private repository config location
-                builder = builder.withRepositoryConfig(Files.createTempFile("helm-repo-", "-config"));
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+            var cacheDirectory = HelmChartHandleExtension.chartCacheDirectory(context);
+            if (cacheDirectory != null) {
+                // persistent repository config and cache, so repository indexes are only fetched when missing
+                builder = builder.withRepositoryConfig(cacheDirectory.resolve("repositories.yaml"))
+                        .withCacheHome(cacheDirectory.resolve("helm-cache"));
+            } else {
+                try {
+                    // configure helm with private repository config location
+                    builder = builder.withRepositoryConfig(Files.createTempFile("helm-repo-", "-config"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
 
             var fabric8Namespace = getFabric8Namespace(context);
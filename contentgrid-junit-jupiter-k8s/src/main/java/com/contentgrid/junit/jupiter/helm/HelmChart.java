@@ -52,4 +52,34 @@ public @interface HelmChart {
      */
     boolean addChartRepositories() default true;
 
+    /**
+     * Whether the chart should be installed by the extension, before the handle is injected. Charts that are installed
+     * on start are installed in parallel, respecting the {@link #dependsOn()} ordering.
+     * <p>
+     * The maximum number of parallel installations can be configured with the
+     * {@value HelmChartHandleExtension#CONTENTGRID_HELM_INSTALL_PARALLELISM} configuration parameter.
+     *
+     * @return if the chart should be installed on start
+     */
+    boolean installOnStart() default false;
+
+    /**
+     * Names of other {@link HelmChart @HelmChart} fields in the same test class that must be installed before this
+     * chart is installed. Only applies to charts that are {@link #installOnStart() installed on start}.
+     *
+     * @return field names of the charts this chart depends on
+     */
+    String[] dependsOn() default {};
+
+    /**
+     * Whether the release is kept installed across the tests of a class. Installing the chart again with the same
+     * options does nothing, installing it with different options upgrades the release in place.
+     * <p>
+     * The handle is shared by all tests in the class, and is closed when the class is done. Static fields are shared
+     * across the class already.
+     *
+     * @return if the release should be reused across tests
+     */
+    boolean reuseRelease() default false;
+
 }
@@ -3,10 +3,15 @@ package com.contentgrid.junit.jupiter.helm;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 import com.contentgrid.helm.Helm;
+import com.contentgrid.helm.HelmDependencyCommand.DependencyBuildOption;
 import com.contentgrid.helm.HelmDependencyCommand.HelmDependency;
 import com.contentgrid.helm.HelmInstallCommand.InstallOption;
 import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import com.contentgrid.helm.HelmRepositoryCommand.HelmRepository;
+import com.contentgrid.helm.HelmTemplateCommand.TemplateFlag;
 import com.contentgrid.helm.HelmUninstallCommand.UninstallOption;
+import com.contentgrid.helm.HelmUpgradeCommand.UpgradeOption;
+import com.contentgrid.helm.impl.CommandExecutor.CommandException;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URL;
@@ -15,12 +20,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Queue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.AccessLevel;
@@ -39,6 +48,8 @@ import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
 @Builder
 public class HelmChartHandle implements CloseableResource {
 
+    private static final int REUSED_RELEASE_HISTORY_MAX = 2;
+
     @NonNull
     private final Helm helmClient;
 
@@ -49,7 +60,33 @@ public class HelmChartHandle implements CloseableResource {
     private final NamespaceHandler namespaceHandler;
     private final boolean addChartRepositories;
 
-    private final Queue<InstallResult> installs = new LinkedList<>();
+    /**
+     * Directory to cache provisioned local charts in, so they can be reused across runs. When not set, provisioned
+     * charts are only reused within the same JVM.
+     */
+    private final Path chartCacheDirectory;
+
+    /**
+     * Uninstalls releases in isolated namespaces and deletes those namespaces in the background. When not set, or for
+     * releases in shared namespaces, releases are uninstalled synchronously when the handle is closed.
+     */
+    private final NamespaceLifecycleManager namespaceLifecycleManager;
+
+    /**
+     * Keeps a single release, which is only upgraded when the chart or its options change. When not set, every
+     * installation creates a new release.
+     */
+    private final boolean reuseRelease;
+
+    private final Queue<InstallResult> installs = new ConcurrentLinkedQueue<>();
+
+    private final AtomicReference<ReusedRelease> reusedRelease = new AtomicReference<>();
+
+    private String provisionedChart = null;
+
+    private record ReusedRelease(InstallResult result, String fingerprint) {
+
+    }
 
     /**
      * Install the helm chart
@@ -57,19 +94,86 @@ public class HelmChartHandle implements CloseableResource {
      * @return The installation result
      */
     public InstallResult install(InstallOption... options) {
+        var path = provisionChart();
+
+        if(reuseRelease) {
+            return installOrUpgrade(path, installationOptions(options));
+        }
+
+        var installResult = helmClient.install().chart(path, installationOptions(options));
+        installs.add(installResult);
+        return installResult;
+    }
+
+    /**
+     * Installs the release once, and upgrades it when the chart or the options differ from the previous installation
+     */
+    private synchronized InstallResult installOrUpgrade(String path, InstallOption[] options) {
+        var fingerprint = ReleaseFingerprint.of(path, options);
+        var current = reusedRelease.get();
+
+        if(current == null) {
+            var installResult = helmClient.install().chart(path, options);
+            installs.add(installResult);
+            reusedRelease.set(new ReusedRelease(installResult, fingerprint));
+            return installResult;
+        }
+
+        if(current.fingerprint().equals(fingerprint)) {
+            log.debug("Release {} of chart '{}' is up to date", current.result().name(), chartReference);
+            return current.result();
+        }
+
+        var upgradeOptions = Stream.concat(
+                Arrays.stream(options).map(UpgradeOption::of),
+                Stream.of(UpgradeOption.install(), UpgradeOption.resetValues(),
+                        UpgradeOption.historyMax(REUSED_RELEASE_HISTORY_MAX))
+        ).toArray(UpgradeOption[]::new);
+        log.info("Upgrading release {} of chart '{}'", current.result().name(), chartReference);
+        var upgradeResult = helmClient.upgrade().chart(current.result().name(), path, upgradeOptions);
+        installs.remove(current.result());
+        installs.add(upgradeResult);
+        reusedRelease.set(new ReusedRelease(upgradeResult, fingerprint));
+        return upgradeResult;
+    }
+
+    /**
+     * Renders the helm chart with the same options as {@link #install(InstallOption...)}, without installing it
+     * @param options Installation options
+     * @return The container images that are referenced by the rendered chart
+     */
+    public Set<String> images(InstallOption... options) {
+        var path = provisionChart();
+
+        var flags = Stream.concat(Arrays.stream(installationOptions(options)), Stream.of(InstallOption.generateName()))
+                .map(option -> (TemplateFlag) option::apply)
+                .toArray(TemplateFlag[]::new);
+        try (var rendered = helmClient.template().stream(null, path, flags)) {
+            return ChartImages.extract(rendered.documents());
+        }
+    }
+
+    private InstallOption[] installationOptions(InstallOption... options) {
         var newOptions = new ArrayList<>(namespaceHandler.installationOptions());
         newOptions.addAll(chartReference.installationOptions());
         newOptions.addAll(List.of(options));
+        return newOptions.toArray(InstallOption[]::new);
+    }
 
-        if(addChartRepositories) {
-            chartReference.configureChartRepositories(helmClient);
-        }
+    /**
+     * Provisions the chart once, also when it is rendered and installed concurrently
+     */
+    private synchronized String provisionChart() {
+        if(provisionedChart == null) {
+            var chartCache = ProvisionedChartCache.create(chartCacheDirectory);
 
-        var path = chartReference.provisionChart(helmClient);
+            if(addChartRepositories) {
+                chartReference.configureChartRepositories(helmClient, chartCache);
+            }
 
-        var installResult = helmClient.install().chart(path, newOptions.toArray(InstallOption[]::new));
-        installs.add(installResult);
-        return installResult;
+            provisionedChart = chartReference.provisionChart(helmClient, chartCache, addChartRepositories);
+        }
+        return provisionedChart;
     }
 
     /**
@@ -88,9 +192,21 @@ public class HelmChartHandle implements CloseableResource {
             log.warn("Helm chart '{}' was never installed. Don't forget to call HelmChartHandle.install() to install the helm chart.", chartReference);
         }
 
+        var toUninstall = new ArrayList<InstallResult>();
         while(!installs.isEmpty()) {
-            var install = installs.poll();
+            toUninstall.add(installs.poll());
+        }
+        reusedRelease.set(null);
+
+        // Only releases in their own namespace are removed in the background: a shared namespace must be empty
+        // before the next test installs into it again
+        var ownedNamespace = namespaceHandler.ownedNamespace();
+        if(namespaceLifecycleManager != null && ownedNamespace.isPresent()) {
+            namespaceLifecycleManager.release(helmClient, toUninstall, ownedNamespace.get());
+            return;
+        }
 
+        for (var install : toUninstall) {
             helmClient.uninstall().uninstall(install.name(), UninstallOption.namespace(install.namespace()));
         }
     }
@@ -100,6 +216,13 @@ public class HelmChartHandle implements CloseableResource {
      */
     private sealed interface NamespaceHandler {
         List<InstallOption> installationOptions();
+
+        /**
+         * @return The namespace that is created for the handle, and can be deleted when the handle is closed
+         */
+        default Optional<String> ownedNamespace() {
+            return Optional.empty();
+        }
     }
 
     /**
@@ -115,6 +238,11 @@ public class HelmChartHandle implements CloseableResource {
                     InstallOption.createNamespace()
             );
         }
+
+        @Override
+        public Optional<String> ownedNamespace() {
+            return Optional.of(namespace);
+        }
     }
 
     /**
@@ -150,15 +278,18 @@ public class HelmChartHandle implements CloseableResource {
         /**
          * Registers the repositories defined in the referenced helm chart
          * @param helm The helm client to register the repositories against
+         * @param chartCache The cache of already provisioned charts
          */
-        void configureChartRepositories(Helm helm);
+        void configureChartRepositories(Helm helm, ProvisionedChartCache chartCache);
 
         /**
          * Installs dependencies and places chart in a location that is accessible by helm
          * @param helm The helm client to install dependencies with and for which the chart should be made accessible
+         * @param chartCache The cache of already provisioned charts
+         * @param repositoriesConfigured Whether the repositories of the chart are configured, with their indexes cached
          * @return The plain chart reference that should be passed to helm install
          */
-        String provisionChart(Helm helm);
+        String provisionChart(Helm helm, ProvisionedChartCache chartCache, boolean repositoriesConfigured);
 
         /**
          * Additional options for helm install
@@ -175,29 +306,80 @@ public class HelmChartHandle implements CloseableResource {
      * This is to ensure that:
      *  - charts packaged inside jars can be accessed by helm
      *  - installing dependencies does not modify the referenced helm chart files
+     * <p>
+     * Provisioned charts are cached by a hash of their contents, so identical charts are only copied and have their
+     * dependencies built once.
      */
     private abstract static sealed class AbstractLocalChartReference implements ChartReference {
         private Path chartTargetDir = null;
+        private String contentHash = null;
 
         @Override
-        public void configureChartRepositories(Helm helm) {
-            helm.dependency().list(ensureCopiedToTargetDir())
+        public synchronized void configureChartRepositories(Helm helm, ProvisionedChartCache chartCache) {
+            var chartDir = chartCache.lookup(contentHash()).orElseGet(this::ensureCopiedToTargetDir);
+            var configuredRepositories = chartCache.configuredRepositories(() -> listRepositories(helm));
+            helm.dependency().list(chartDir)
                     .stream()
                     .map(HelmDependency::repository)
                     .filter(repo -> !Objects.equals(repo.getScheme(), "oci"))
+                    // Skip repositories that are already present in a persistent repository config
+                    .filter(repo -> !configuredRepositories.contains(repo.toString()))
                     // Deduplicate repositories
                     .collect(Collectors.toUnmodifiableSet())
-                    .forEach(helm.repository()::add);
+                    .forEach(repo -> {
+                        helm.repository().add(repo);
+                        configuredRepositories.add(repo.toString());
+                    });
+        }
+
+        private static Set<String> listRepositories(Helm helm) {
+            try {
+                return helm.repository().list().stream()
+                        .map(HelmRepository::url)
+                        .collect(Collectors.toSet());
+            } catch (Exception e) {
+                if (!(e instanceof CommandException)) {
+                    throw e;
+                }
+                // helm fails when there are no repositories configured yet
+                log.debug("No chart repositories configured yet: {}", e.getMessage());
+                return Set.of();
+            }
         }
 
         @Override
-        @SneakyThrows
-        public String provisionChart(Helm helm) {
-            var temp = ensureCopiedToTargetDir();
+        public synchronized String provisionChart(Helm helm, ProvisionedChartCache chartCache, boolean repositoriesConfigured) {
+            var provisioned = chartCache.provision(contentHash(), () -> {
+                var temp = ensureCopiedToTargetDir();
+
+                if(!chartCache.restoreDependencies(temp)) {
+                    log.info("Installing dependencies");
+                    buildDependencies(helm, temp, repositoriesConfigured);
+                    chartCache.storeDependencies(temp);
+                }
+                return temp;
+            });
+            return provisioned.toAbsolutePath().toString();
+        }
+
+        private static void buildDependencies(Helm helm, Path chart, boolean repositoriesConfigured) {
+            if(repositoriesConfigured) {
+                // Repository indexes were fetched when the repositories were added, no need to fetch them again
+                try {
+                    helm.dependency().build(chart, DependencyBuildOption.skipRefresh());
+                    return;
+                } catch (Exception e) {
+                    log.info("Building dependencies from cached repository indexes failed, retrying with refresh: {}", e.getMessage());
+                }
+            }
+            helm.dependency().build(chart);
+        }
 
-            log.info("Installing dependencies");
-            helm.dependency().build(temp);
-            return temp.toAbsolutePath().toString();
+        private String contentHash() {
+            if(contentHash == null) {
+                contentHash = withChartSource(ProvisionedChartCache::hash);
+            }
+            return contentHash;
         }
 
         private Path ensureCopiedToTargetDir() {
@@ -209,6 +391,13 @@ public class HelmChartHandle implements CloseableResource {
 
         protected abstract Path copyToTargetDir();
 
+        /**
+         * Runs an action against the directory of the referenced chart, which is not necessarily on the default filesystem
+         * @param action The action to perform on the chart source directory
+         * @return The result of the action
+         */
+        protected abstract <T> T withChartSource(Function<Path, T> action);
+
         @SneakyThrows
         protected static Path copyFolder(Path src, Path containingFolder) {
             var targetDir = Files.createTempDirectory(containingFolder, src.getFileName().toString());
@@ -236,9 +425,13 @@ public class HelmChartHandle implements CloseableResource {
         private final Path tempDir;
 
         @Override
-        @SneakyThrows
         protected Path copyToTargetDir() {
-            return copyFolder(source, tempDir);
+            return withChartSource(src -> copyFolder(src, tempDir));
+        }
+
+        @Override
+        protected <T> T withChartSource(Function<Path, T> action) {
+            return action.apply(source);
         }
 
         @Override
@@ -258,14 +451,19 @@ public class HelmChartHandle implements CloseableResource {
         private final Path tempDir;
 
         @Override
-        @SneakyThrows
         protected Path copyToTargetDir() {
+            return withChartSource(src -> copyFolder(src, tempDir));
+        }
+
+        @Override
+        @SneakyThrows
+        protected <T> T withChartSource(Function<Path, T> action) {
             var separatorPos = uriReference.indexOf('!');
             var jarPath = uriReference.substring(0, separatorPos);
 
             try(var fs = FileSystems.newFileSystem(Path.of(jarPath), Map.of())) {
                 var fullPath = fs.getPath(uriReference.substring(separatorPos+1));
-                return copyFolder(fullPath, tempDir);
+                return action.apply(fullPath);
             }
         }
 
@@ -285,12 +483,12 @@ public class HelmChartHandle implements CloseableResource {
         private final String version;
 
         @Override
-        public void configureChartRepositories(Helm helm) {
+        public void configureChartRepositories(Helm helm, ProvisionedChartCache chartCache) {
             // No repositories to configure for this chart type
         }
 
         @Override
-        public String provisionChart(Helm helm) {
+        public String provisionChart(Helm helm, ProvisionedChartCache chartCache, boolean repositoriesConfigured) {
             return location;
         }
 
@@ -539,6 +737,7 @@ public class HelmChartHandle implements CloseableResource {
         public HelmChartHandleBuilder fromAnnotation(HelmChart annotation) {
             return chart(annotation.chart())
                     .addChartRepositories(annotation.addChartRepositories())
+                    .reuseRelease(annotation.reuseRelease())
                     .namespaceHandler(switch (annotation.namespace()) {
                         case HelmChart.NAMESPACE_ISOLATE -> new IsolatedNamespaceHandler();
                         case HelmChart.NAMESPACE_DEFAULT -> new DefaultNamespaceHandler();
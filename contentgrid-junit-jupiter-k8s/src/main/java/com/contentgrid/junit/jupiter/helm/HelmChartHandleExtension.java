@@ -4,34 +4,198 @@ import static com.contentgrid.junit.jupiter.helpers.FieldHelper.findFields;
 import static com.contentgrid.junit.jupiter.helpers.FieldHelper.getFieldValue;
 import static com.contentgrid.junit.jupiter.helpers.FieldHelper.setFieldValue;
 
+import com.contentgrid.junit.jupiter.k8s.KubernetesTestClusterExtension;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+import org.junit.platform.commons.util.StringUtils;
 
+@Slf4j
 public class HelmChartHandleExtension implements HasHelmClient, BeforeEachCallback, BeforeAllCallback, AfterEachCallback,
         AfterAllCallback{
 
+    /**
+     * Configuration parameter for the maximum number of charts that are installed in parallel, for
+     * {@link HelmChart#installOnStart()}
+     */
+    public static final String CONTENTGRID_HELM_INSTALL_PARALLELISM = "contentgrid.helm.installParallelism";
+
+    /**
+     * Configuration parameter for a directory in which provisioned local charts are cached across runs
+     */
+    public static final String CONTENTGRID_HELM_CACHE_DIRECTORY = "contentgrid.helm.cacheDirectory";
+
+    /**
+     * Configuration parameter to disable pulling the images of charts ahead of time, for {@link HelmChart#installOnStart()}
+     */
+    public static final String CONTENTGRID_HELM_PREFETCH_IMAGES = "contentgrid.helm.prefetchImages";
+
+    private static final int DEFAULT_INSTALL_PARALLELISM = 4;
+
+    private static final Namespace NAMESPACE = Namespace.create(HelmChartHandleExtension.class);
+
     private static List<Field> findTargetFields(ExtensionContext context, boolean isStatic)  {
         return findFields(context, HelmChartHandle.class, f -> Modifier.isStatic(f.getModifiers()) == isStatic && f.isAnnotationPresent(HelmChart.class));
     }
 
     @Override
     public void beforeAll(ExtensionContext context) throws Exception {
-        for (Field field : findTargetFields(context, true)) {
-            setFieldValue(field, null, createHelmChartHandle(field, context));
-        }
+        injectHelmChartHandles(context, findTargetFields(context, true), null);
     }
 
     @Override
     public void beforeEach(ExtensionContext context) throws Exception {
-        for (Field field : findTargetFields(context, false)) {
-            setFieldValue(field, context.getRequiredTestInstance(), createHelmChartHandle(field, context));
+        injectHelmChartHandles(context, findTargetFields(context, false), context.getRequiredTestInstance());
+    }
+
+    private void injectHelmChartHandles(ExtensionContext context, List<Field> fields, Object target)
+            throws IllegalAccessException {
+        var installOnStart = new LinkedHashMap<String, Field>();
+        for (Field field : fields) {
+            if (field.getAnnotation(HelmChart.class).installOnStart()) {
+                installOnStart.put(field.getName(), field);
+            } else {
+                setFieldValue(field, target, getOrCreateHelmChartHandle(field, context));
+            }
+        }
+
+        if (installOnStart.isEmpty()) {
+            return;
+        }
+
+        var dependencies = new LinkedHashMap<String, List<String>>();
+        installOnStart.forEach((name, field) -> dependencies.put(name, List.of(field.getAnnotation(HelmChart.class).dependsOn())));
+        var plan = HelmChartInstallPlan.of(dependencies);
+
+        var handles = new LinkedHashMap<String, HelmChartHandle>();
+        for (var entry : installOnStart.entrySet()) {
+            handles.put(entry.getKey(), getOrCreateHelmChartHandle(entry.getValue(), context));
+        }
+
+        var threadCounter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(installParallelism(context), runnable -> {
+            var thread = new Thread(runnable, "helm-install-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (prefetchImages(context)) {
+            prefetchImages(context, handles.values());
+        }
+
+        try {
+            plan.execute(executor, name -> handles.get(name).install());
+        } catch (RuntimeException e) {
+            // handles are not injected yet, so they will not be closed in the after callbacks
+            handles.forEach((name, handle) -> {
+                if (!isReusedInstanceField(installOnStart.get(name))) {
+                    handle.close();
+                }
+            });
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+
+        // only inject handles when all charts are installed
+        for (var entry : handles.entrySet()) {
+            setFieldValue(installOnStart.get(entry.getKey()), target, entry.getValue());
+        }
+    }
+
+    /**
+     * Renders charts and pulls their images in the background, so images of charts that are installed later (after
+     * their dependencies) are already present by the time they are installed. This runs on its own threads, so it
+     * does not hold up the installs.
+     */
+    private static void prefetchImages(ExtensionContext context, Collection<HelmChartHandle> handles) {
+        var pending = handles.stream().filter(handle -> !handle.isInstalled()).toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        var threadCounter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(Math.min(pending.size(), installParallelism(context)), runnable -> {
+            var thread = new Thread(runnable, "helm-prefetch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            pending.forEach(handle -> CompletableFuture
+                    .supplyAsync(handle::images, executor)
+                    .thenCompose(images -> KubernetesTestClusterExtension.prefetchImages(context, images))
+                    .exceptionally(e -> {
+                        log.warn("Failed to prefetch images: {}", e.getMessage());
+                        return null;
+                    }));
+        } finally {
+            // already submitted renders still run
+            executor.shutdown();
+        }
+    }
+
+    static int installParallelism(ExtensionContext context) {
+        return context.getConfigurationParameter(CONTENTGRID_HELM_INSTALL_PARALLELISM)
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value.trim());
+                    } catch (NumberFormatException e) {
+                        throw new ExtensionConfigurationException(
+                                "%s must be a number, but was '%s'".formatted(CONTENTGRID_HELM_INSTALL_PARALLELISM, value), e);
+                    }
+                })
+                .filter(parallelism -> parallelism > 0)
+                .orElse(DEFAULT_INSTALL_PARALLELISM);
+    }
+
+    static boolean prefetchImages(ExtensionContext context) {
+        return context.getConfigurationParameter(CONTENTGRID_HELM_PREFETCH_IMAGES, Boolean::parseBoolean)
+                .orElse(true);
+    }
+
+    static Path chartCacheDirectory(ExtensionContext context) {
+        return context.getConfigurationParameter(CONTENTGRID_HELM_CACHE_DIRECTORY)
+                .filter(StringUtils::isNotBlank)
+                .map(Path::of)
+                .orElse(null);
+    }
+
+    /**
+     * The namespace lifecycle manager is shared by the whole test run, and reports leaked namespaces at the end
+     */
+    private static NamespaceLifecycleManager namespaceLifecycleManager(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(NamespaceLifecycleManager.class,
+                key -> new NamespaceLifecycleManager(), NamespaceLifecycleManager.class);
+    }
+
+    /**
+     * Handles of instance fields that reuse their release are kept in the store of the test class, which closes them
+     * when the class is done
+     */
+    private HelmChartHandle getOrCreateHelmChartHandle(Field field, ExtensionContext context) {
+        if (isReusedInstanceField(field)) {
+            var classContext = context.getParent().orElse(context);
+            return classContext.getStore(NAMESPACE).getOrComputeIfAbsent(field,
+                    key -> createHelmChartHandle(field, context), HelmChartHandle.class);
         }
+        return createHelmChartHandle(field, context);
+    }
+
+    private static boolean isReusedInstanceField(Field field) {
+        return !Modifier.isStatic(field.getModifiers()) && field.getAnnotation(HelmChart.class).reuseRelease();
     }
 
     private HelmChartHandle createHelmChartHandle(Field field, ExtensionContext context) {
@@ -39,6 +203,8 @@ public class HelmChartHandleExtension implements HasHelmClient, BeforeEachCallba
                 .helmClient(getHelmClient(context))
                 .resourceLoaderClass(context.getRequiredTestClass())
                 .unpackTempDir(workingDirectory(context))
+                .chartCacheDirectory(chartCacheDirectory(context))
+                .namespaceLifecycleManager(namespaceLifecycleManager(context))
                 .fromAnnotation(field.getAnnotation(HelmChart.class))
                 .build();
     }
@@ -46,14 +212,24 @@ public class HelmChartHandleExtension implements HasHelmClient, BeforeEachCallba
     @Override
     public void afterAll(ExtensionContext context) throws Exception {
         for (var field : findTargetFields(context, true)) {
-            ((HelmChartHandle)getFieldValue(field, null)).close();
+            closeHandle(getFieldValue(field, null));
         }
     }
 
     @Override
     public void afterEach(ExtensionContext context) throws Exception {
         for (var field : findTargetFields(context, false)) {
-            ((HelmChartHandle)getFieldValue(field, context.getRequiredTestInstance())).close();
+            if (isReusedInstanceField(field)) {
+                continue;
+            }
+            closeHandle(getFieldValue(field, context.getRequiredTestInstance()));
+        }
+    }
+
+    private static void closeHandle(Object handle) {
+        // handles are not injected when installing on start failed
+        if (handle != null) {
+            ((HelmChartHandle) handle).close();
         }
     }
 }
@@ -0,0 +1,108 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+/**
+ * Dependency graph of {@link HelmChart @HelmChart} fields that are installed on start.
+ * <p>
+ * Charts are installed as soon as all charts they depend on are installed, so independent charts are installed in
+ * parallel.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+class HelmChartInstallPlan {
+
+    /**
+     * Chart name to the names of the charts it depends on, in topological order
+     */
+    private final Map<String, Set<String>> dependencies;
+
+    /**
+     * Creates an install plan
+     *
+     * @param dependencies chart name to the names of the charts it depends on
+     * @return the install plan
+     * @throws ExtensionConfigurationException when a dependency is unknown or when dependencies are cyclic
+     */
+    static HelmChartInstallPlan of(Map<String, ? extends Iterable<String>> dependencies) {
+        var graph = new LinkedHashMap<String, Set<String>>();
+        dependencies.forEach((name, dependsOn) -> {
+            var edges = new LinkedHashSet<String>();
+            for (var dependency : dependsOn) {
+                if (!dependencies.containsKey(dependency)) {
+                    throw new ExtensionConfigurationException(
+                            "@HelmChart '%s' depends on '%s', which is not a @HelmChart that is installed on start"
+                                    .formatted(name, dependency));
+                }
+                edges.add(dependency);
+            }
+            graph.put(name, edges);
+        });
+
+        var sorted = new LinkedHashMap<String, Set<String>>();
+        var visiting = new HashSet<String>();
+        for (var name : graph.keySet()) {
+            visit(name, graph, visiting, sorted, new ArrayList<>());
+        }
+        return new HelmChartInstallPlan(Collections.unmodifiableMap(sorted));
+    }
+
+    private static void visit(String name, Map<String, Set<String>> graph, Set<String> visiting,
+            Map<String, Set<String>> sorted, List<String> path) {
+        if (sorted.containsKey(name)) {
+            return;
+        }
+        path.add(name);
+        if (!visiting.add(name)) {
+            throw new ExtensionConfigurationException(
+                    "Cyclic @HelmChart dependencies: %s".formatted(String.join(" -> ", path)));
+        }
+        for (var dependency : graph.get(name)) {
+            visit(dependency, graph, visiting, sorted, path);
+        }
+        visiting.remove(name);
+        path.remove(path.size() - 1);
+        sorted.put(name, graph.get(name));
+    }
+
+    /**
+     * Installs all charts, and waits for the installations to finish.
+     * <p>
+     * A chart is not installed when one of the charts it depends on failed to install.
+     *
+     * @param executor executor to run installations on, which bounds the number of parallel installations
+     * @param installer installs the chart with the given name
+     */
+    void execute(Executor executor, Consumer<String> installer) {
+        var installations = new LinkedHashMap<String, CompletableFuture<Void>>();
+        for (var entry : this.dependencies.entrySet()) {
+            var dependencies = entry.getValue().stream()
+                    .map(installations::get)
+                    .toArray(CompletableFuture[]::new);
+            installations.put(entry.getKey(), CompletableFuture.allOf(dependencies)
+                    .thenRunAsync(() -> installer.accept(entry.getKey()), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(installations.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import com.contentgrid.helm.Helm;
+import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import com.contentgrid.helm.HelmUninstallCommand.UninstallOption;
+import io.fabric8.kubernetes.api.model.NamespaceCondition;
+import io.fabric8.kubernetes.api.model.NamespaceStatus;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.KubernetesClientTimeoutException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+/**
+ * Uninstalls helm releases and deletes the namespaces that were created for them in the background, so closing a
+ * {@link HelmChartHandle} does not block the test run.
+ * <p>
+ * Cleanups are queued in a bounded queue; when it is full, the cleanup runs on the calling thread instead. Namespaces
+ * are only considered deleted once their finalizers have completed. Releases and namespaces that could not be removed
+ * are reported when the manager is closed, at the end of the test run.
+ */
+@Slf4j
+final class NamespaceLifecycleManager implements CloseableResource {
+
+    private static final int WORKERS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final Duration DELETION_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofMinutes(5);
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, KubernetesClient> clients = new ConcurrentHashMap<>();
+    // Keyed by release or namespace, with the reason it was not removed
+    private final Map<String, String> leaks = new ConcurrentSkipListMap<>();
+
+    NamespaceLifecycleManager() {
+        var threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(WORKERS, WORKERS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    var thread = new Thread(runnable, "helm-cleanup-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * Uninstalls releases in the background, and deletes their namespace afterward
+     *
+     * @param helm The helm client to uninstall the releases with
+     * @param installs The releases to uninstall
+     * @param ownedNamespace The namespace to delete after uninstalling, or {@code null} to keep the namespace
+     */
+    void release(Helm helm, List<InstallResult> installs, String ownedNamespace) {
+        // The kubeconfig of the current test class is only known right now, it is reset when the class is done
+        release(helm, Config.autoConfigure(null), installs, ownedNamespace);
+    }
+
+    void release(Helm helm, Config config, List<InstallResult> installs, String ownedNamespace) {
+        executor.execute(() -> {
+            uninstall(helm, config, installs);
+            if (ownedNamespace != null) {
+                deleteNamespace(config, ownedNamespace);
+            }
+        });
+    }
+
+    private void uninstall(Helm helm, Config config, List<InstallResult> installs) {
+        for (var install : installs) {
+            try {
+                helm.uninstall().uninstall(install.name(), UninstallOption.namespace(install.namespace()));
+            } catch (Exception e) {
+                if (!isReachable(config)) {
+                    // A class-scoped cluster is stopped when the class is done, which takes its releases along
+                    log.debug("Not uninstalling release {} in namespace {}, cluster is not reachable: {}",
+                            install.name(), install.namespace(), e.getMessage());
+                    return;
+                }
+                log.warn("Failed to uninstall release {} in namespace {}: {}", install.name(), install.namespace(), e.getMessage());
+                leaks.put("release %s/%s".formatted(install.namespace(), install.name()), String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    private boolean isReachable(Config config) {
+        try {
+            client(config).getKubernetesVersion();
+            return true;
+        } catch (KubernetesClientException e) {
+            return !(e.getCause() instanceof IOException);
+        }
+    }
+
+    private KubernetesClient client(Config config) {
+        return clients.computeIfAbsent(config.getMasterUrl(),
+                url -> new KubernetesClientBuilder().withConfig(config).build());
+    }
+
+    private void deleteNamespace(Config config, String name) {
+        var client = client(config);
+        var namespace = client.namespaces().withName(name);
+        try {
+            namespace.delete();
+            // The namespace is removed when all its resources are deleted and all finalizers have completed
+            namespace.waitUntilCondition(Objects::isNull, DELETION_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            log.debug("Deleted namespace {}", name);
+        } catch (KubernetesClientTimeoutException e) {
+            leaks.put("namespace " + name, describeRemaining(client, name));
+        } catch (KubernetesClientException e) {
+            if (e.getCause() instanceof IOException) {
+                // A class-scoped cluster is stopped when the class is done, which takes its namespaces along
+                log.debug("Not deleting namespace {}, cluster is not reachable: {}", name, e.getMessage());
+                return;
+            }
+            log.warn("Failed to delete namespace {}: {}", name, e.getMessage());
+            leaks.put("namespace " + name, String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * Describes why a namespace is not deleted yet, from the conditions the namespace controller reports
+     */
+    private static String describeRemaining(KubernetesClient client, String name) {
+        var namespace = client.namespaces().withName(name).get();
+        if (namespace == null) {
+            return "deleted after timeout";
+        }
+        var reasons = Optional.ofNullable(namespace.getStatus())
+                .map(NamespaceStatus::getConditions)
+                .stream()
+                .flatMap(List::stream)
+                .filter(condition -> "True".equals(condition.getStatus()))
+                .map(NamespaceCondition::getMessage)
+                .collect(Collectors.joining("; "));
+        return reasons.isEmpty() ? "still terminating" : reasons;
+    }
+
+    /**
+     * @return The releases and namespaces that could not be removed, with the reason
+     */
+    Map<String, String> leaks() {
+        return Collections.unmodifiableMap(leaks);
+    }
+
+    /**
+     * Waits for pending cleanups, and reports the releases and namespaces that could not be removed
+     */
+    @Override
+    public void close() throws Throwable {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            log.warn("Cleanup of helm releases and namespaces did not finish within {}", SHUTDOWN_TIMEOUT);
+            executor.shutdownNow();
+        }
+        clients.values().forEach(KubernetesClient::close);
+
+        if (!leaks.isEmpty()) {
+            log.warn("Leaked {} helm releases and namespaces:{}", leaks.size(), leaks.entrySet()
+                    .stream()
+                    .map(leak -> "%n - %s: %s".formatted(leak.getKey(), leak.getValue()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of local helm charts that have been provisioned (copied and with dependencies built), keyed by a hash of the
+ * chart contents.
+ * <p>
+ * Provisioned charts are always cached for the lifetime of the JVM. When a cache directory is configured, they are
+ * also stored on disk in {@code <directory>/charts/<hash>}, so they can be reused by later runs.
+ * <p>
+ * With a cache directory, the built dependencies of a chart are also cached in
+ * {@code <directory>/dependencies/<hash of Chart.lock>}, so charts with different contents but the same locked
+ * dependencies do not download the same subcharts again.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+final class ProvisionedChartCache {
+
+    private static final Map<String, Path> PROVISIONED = new ConcurrentHashMap<>();
+    private static final Map<String, Object> LOCKS = new ConcurrentHashMap<>();
+    private static final Map<Path, Set<String>> REPOSITORIES = new ConcurrentHashMap<>();
+
+    /**
+     * Optional on-disk cache directory
+     */
+    private final Path directory;
+
+    /**
+     * @param directory directory to store provisioned charts in, or {@code null} to only cache in memory
+     */
+    static ProvisionedChartCache create(Path directory) {
+        return new ProvisionedChartCache(directory);
+    }
+
+    /**
+     * @param key content hash of the chart
+     * @return the already provisioned chart directory, if present
+     */
+    Optional<Path> lookup(String key) {
+        var provisioned = PROVISIONED.get(key);
+        if (provisioned != null && Files.isDirectory(provisioned)) {
+            return Optional.of(provisioned);
+        }
+
+        if (this.directory != null) {
+            var cached = this.cachePath(key);
+            if (Files.isDirectory(cached)) {
+                PROVISIONED.put(key, cached);
+                return Optional.of(cached);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the URLs of the chart repositories that are configured in the persistent repository config of the cache
+     * directory. They are only listed once per JVM; repositories that are added later should be added to the returned
+     * set.
+     * <p>
+     * Without a cache directory, every helm client starts from an empty repository config, so nothing is listed.
+     *
+     * @param lister lists the repositories that are configured in the repository config
+     * @return the mutable set of configured repository URLs
+     */
+    Set<String> configuredRepositories(Supplier<Set<String>> lister) {
+        if (this.directory == null) {
+            return ConcurrentHashMap.newKeySet();
+        }
+        return REPOSITORIES.computeIfAbsent(this.directory.toAbsolutePath().normalize(), key -> {
+            Set<String> repositories = ConcurrentHashMap.newKeySet();
+            repositories.addAll(lister.get());
+            return repositories;
+        });
+    }
+
+    /**
+     * Returns the provisioned chart directory for the key, provisioning it when it is not yet cached. Concurrent
+     * provisioning of the same chart is serialized, so it only happens once.
+     *
+     * @param key content hash of the chart
+     * @param provisioner provisions the chart, returning the directory it was provisioned in
+     * @return the provisioned chart directory
+     */
+    Path provision(String key, Supplier<Path> provisioner) {
+        synchronized (LOCKS.computeIfAbsent(key, k -> new Object())) {
+            var cached = this.lookup(key);
+            if (cached.isPresent()) {
+                log.info("Using provisioned chart {}", cached.get());
+                return cached.get();
+            }
+
+            var provisioned = provisioner.get();
+            if (this.directory != null) {
+                provisioned = this.store(key, provisioned);
+            }
+            PROVISIONED.put(key, provisioned);
+            return provisioned;
+        }
+    }
+
+    private Path cachePath(String key) {
+        return this.directory.resolve("charts").resolve(key);
+    }
+
+    private Path store(String key, Path provisioned) {
+        var target = this.cachePath(key);
+        try {
+            return storeTree(provisioned, target) ? target : provisioned;
+        } catch (IOException e) {
+            log.warn("Failed to store chart {} in cache {}", key, this.directory, e);
+            return provisioned;
+        }
+    }
+
+    /**
+     * Copies the cached dependencies for the {@code Chart.lock} of the chart into its {@code charts/} directory
+     *
+     * @param chartDirectory the (writable) chart directory
+     * @return whether cached dependencies were restored
+     */
+    boolean restoreDependencies(Path chartDirectory) {
+        var cached = this.dependenciesPath(chartDirectory);
+        if (cached.isEmpty() || !Files.isDirectory(cached.get())) {
+            return false;
+        }
+
+        try {
+            copyTree(cached.get(), chartDirectory.resolve("charts"));
+            log.info("Using cached dependencies {}", cached.get());
+            return true;
+        } catch (IOException e) {
+            log.warn("Failed to restore cached dependencies {}", cached.get(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Stores the built {@code charts/} directory of the chart, keyed by its {@code Chart.lock}
+     *
+     * @param chartDirectory the chart directory, with dependencies built
+     */
+    void storeDependencies(Path chartDirectory) {
+        var charts = chartDirectory.resolve("charts");
+        var target = this.dependenciesPath(chartDirectory);
+        if (target.isEmpty() || !Files.isDirectory(charts)) {
+            return;
+        }
+
+        try {
+            storeTree(charts, target.get());
+        } catch (IOException e) {
+            log.warn("Failed to store dependencies of {} in cache {}", chartDirectory, this.directory, e);
+        }
+    }
+
+    private Optional<Path> dependenciesPath(Path chartDirectory) {
+        var lock = chartDirectory.resolve("Chart.lock");
+        if (this.directory == null || !Files.isRegularFile(lock)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(this.directory.resolve("dependencies").resolve(sha256(Files.readAllBytes(lock))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Atomically stores a copy of the source directory as the target directory
+     *
+     * @return whether the target directory exists
+     */
+    private static boolean storeTree(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+
+        // stage next to the target, so it can be moved atomically; other JVMs may be populating the cache as well
+        var staging = Files.createTempDirectory(target.getParent(), target.getFileName() + "-");
+        copyTree(source, staging);
+        try {
+            Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileSystemException e) {
+            // target already exists when it was cached concurrently
+            log.debug("Could not move {} into cache: {}", target, e.getMessage());
+            deleteTree(staging);
+        }
+        return Files.isDirectory(target);
+    }
+
+    /**
+     * Calculates a hash of all files in the chart directory, including {@code Chart.lock} and vendored subcharts.
+     *
+     * @param chartDirectory the chart directory
+     * @return hex-encoded SHA-256 hash
+     */
+    static String hash(Path chartDirectory) {
+        var digest = sha256();
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(chartDirectory)) {
+            files = stream.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(file -> chartDirectory.relativize(file).toString()))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        for (var file : files) {
+            digest.update(chartDirectory.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            try {
+                digest.update(Files.readAllBytes(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            digest.update((byte) 0);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String sha256(byte[] contents) {
+        return HexFormat.of().formatHex(sha256().digest(contents));
+    }
+
+    @SneakyThrows(NoSuchAlgorithmException.class)
+    private static MessageDigest sha256() {
+        return MessageDigest.getInstance("SHA-256");
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        try (Stream<Path> stream = Files.walk(source)) {
+            for (var path : (Iterable<Path>) stream::iterator) {
+                var destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination, REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static void deleteTree(Path path) throws IOException {
+        try (Stream<Path> stream = Files.walk(path)) {
+            for (var file : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import com.contentgrid.helm.HelmInstallCommand.InstallOption;
+import com.contentgrid.helm.HelmInstallCommand.InstallOptionsHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import lombok.SneakyThrows;
+
+/**
+ * Calculates a hash of a chart reference and the options it is installed with, to detect whether a release has to be
+ * upgraded.
+ * <p>
+ * Values are hashed by their content, so values files that changed on disk and maps with the same entries in a
+ * different order are treated accordingly.
+ */
+final class ReleaseFingerprint implements InstallOptionsHandler {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final MessageDigest digest = sha256();
+
+    private ReleaseFingerprint(String chart) {
+        update("chart", chart);
+    }
+
+    /**
+     * @param chart The provisioned chart reference, as passed to helm
+     * @param options The installation options
+     * @return hex-encoded SHA-256 hash
+     */
+    static String of(String chart, InstallOption... options) {
+        var fingerprint = new ReleaseFingerprint(chart);
+        for (var option : options) {
+            option.apply(fingerprint);
+        }
+        return HexFormat.of().formatHex(fingerprint.digest.digest());
+    }
+
+    private void update(String key, String... values) {
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        for (var value : values) {
+            digest.update((byte) 1);
+            digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    @Override
+    public void namespace(String namespace) {
+        update("namespace", namespace);
+    }
+
+    @Override
+    public void createNamespace() {
+        update("create-namespace");
+    }
+
+    @Override
+    public void generateName() {
+        // the release name is kept across upgrades
+    }
+
+    @Override
+    public void values(Path file) {
+        try {
+            digest.update("values-file".getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 1);
+            digest.update(Files.readAllBytes(file));
+            digest.update((byte) 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read values file %s".formatted(file), e);
+        }
+    }
+
+    @Override
+    public void values(Map<String, Object> values) {
+        try {
+            update("values", OBJECT_MAPPER.writeValueAsString(values));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize values", e);
+        }
+    }
+
+    @Override
+    public void version(String version) {
+        update("version", version);
+    }
+
+    @Override
+    public void timeout(String duration) {
+        update("timeout", duration);
+    }
+
+    @Override
+    public void dryRun() {
+        update("dry-run");
+    }
+
+    @Override
+    public void arguments(String... args) {
+        update("arguments", args);
+    }
+
+    @SneakyThrows(NoSuchAlgorithmException.class)
+    private static MessageDigest sha256() {
+        return MessageDigest.getInstance("SHA-256");
+    }
+}
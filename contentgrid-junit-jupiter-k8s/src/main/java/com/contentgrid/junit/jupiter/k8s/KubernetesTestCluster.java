@@ -26,6 +26,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
  * This has the (intentional) side-effect that fabric8 autoconfiguration no longer automatically picks up your
  * systems' default kubeconfig in {@code ~/.kube/config} or {@code KUBECONFIG} environment variable. This means
  * integration tests will no longer run against a production kubernetes cluster by accident :grimacing:
+ *
+ * <p>
+ * With {@code scope = Scope.SESSION}, the cluster is started once and reused by all test classes that use the same
+ * provider and registry mirrors, instead of starting a cluster for every test class.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
@@ -37,4 +41,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 public @interface KubernetesTestCluster {
 
     Class<? extends KubernetesClusterProvider>[] providers() default {K3sTestcontainersClusterProvider.class};
+
+    /**
+     * Lifetime of the kubernetes cluster
+     */
+    Scope scope() default Scope.CLASS;
+
+    enum Scope {
+        /**
+         * The cluster is started for the test class, and stopped after all its tests ran
+         */
+        CLASS,
+
+        /**
+         * The cluster is shared by all test classes with the same provider and docker registry mirrors, and stopped
+         * at the end of the test run
+         */
+        SESSION
+    }
 }
@@ -3,10 +3,16 @@ package com.contentgrid.junit.jupiter.k8s;
 import com.contentgrid.junit.jupiter.docker.registry.DockerRegistryCacheExtension;
 import com.contentgrid.junit.jupiter.k8s.providers.KubernetesClusterProvider;
 import com.contentgrid.junit.jupiter.k8s.providers.KubernetesClusterProvider.KubernetesProviderResult;
+import com.contentgrid.junit.jupiter.k8s.resource.SharedInformerRegistry;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
@@ -27,6 +33,8 @@ public class KubernetesTestClusterExtension implements BeforeAllCallback, AfterA
 
     private static final String SYSPROP_KUBECONFIG = "kubeconfig";
 
+    private static final String SESSION_KEY = "session_key";
+
     @Override
     public void beforeAll(ExtensionContext context) throws Exception {
         var store = getStore(context);
@@ -44,16 +52,20 @@ public class KubernetesTestClusterExtension implements BeforeAllCallback, AfterA
             store.put("restore_kubeconfig", kubeconfig);
         }
 
-        var result = store.getOrComputeIfAbsent(KubernetesClusterProvider.class,
-                key -> Arrays.stream(annotation.providers())
-                        .map(ReflectionSupport::newInstance)
-                        .filter(candidate -> candidate.evaluate().isEnabled())
-                        .findFirst()
-                        .map(provider -> configureRegistryMirrors(provider, context))
-                        .map(KubernetesClusterProvider::start)
-                        .orElseThrow(() -> new ExtensionConfigurationException(
-                                "No suitable %s found".formatted(KubernetesClusterProvider.class.getSimpleName()))),
-                KubernetesProviderResult.class);
+        var result = switch (annotation.scope()) {
+            case CLASS -> store.getOrComputeIfAbsent(KubernetesClusterProvider.class,
+                    key -> configureRegistryMirrors(findProvider(annotation), context).start(),
+                    KubernetesProviderResult.class);
+            case SESSION -> {
+                var provider = findProvider(annotation);
+                var sessionKey = sessionKey(provider, context);
+                store.put(SESSION_KEY, sessionKey);
+                // the root store is closed at the end of the test run, which stops the cluster
+                yield context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(sessionKey,
+                        key -> configureRegistryMirrors(provider, context).start(),
+                        KubernetesProviderResult.class);
+            }
+        };
 
         // write kubeconfig contents to temp .yml file
         log.debug("kubeconfig: {}", result.getKubeConfigYaml());
@@ -62,6 +74,81 @@ public class KubernetesTestClusterExtension implements BeforeAllCallback, AfterA
 
         store.put("kubeconfig", kubeConfigPath.toString());
         System.setProperty(SYSPROP_KUBECONFIG, kubeConfigPath.toString());
+
+        // informers are shared across test classes; close leftovers when the test run ends
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SharedInformerRegistry.class,
+                key -> SharedInformerRegistry.getInstance(), SharedInformerRegistry.class);
+    }
+
+    private KubernetesClusterProvider findProvider(KubernetesTestCluster annotation) {
+        return Arrays.stream(annotation.providers())
+                .map(ReflectionSupport::newInstance)
+                .filter(candidate -> candidate.evaluate().isEnabled())
+                .findFirst()
+                .orElseThrow(() -> new ExtensionConfigurationException(
+                        "No suitable %s found".formatted(KubernetesClusterProvider.class.getSimpleName())));
+    }
+
+    /**
+     * Key of a session-scoped cluster: clusters are only shared when they are configured the same way
+     */
+    static String sessionKey(KubernetesClusterProvider provider, ExtensionContext context) {
+        var mirrors = Optional.ofNullable(DockerRegistryCacheExtension.getMirrors(context))
+                .stream()
+                .flatMap(Set::stream)
+                .map(name -> Optional.ofNullable(DockerRegistryCacheExtension.getMirror(context, name))
+                        .map(endpoint -> endpoint.getName() + "=" + endpoint.getURI())
+                        .orElse(name))
+                .sorted()
+                .collect(Collectors.joining(","));
+        return "session-cluster:%s[%s]".formatted(provider.getClass().getName(), mirrors);
+    }
+
+    /**
+     * Pulls images into the cluster of the test class ahead of time, see
+     * {@link KubernetesProviderResult#prefetchImages(Collection)}
+     *
+     * @param context The extension context of the test class, or one of its tests
+     * @param images The image references to pull
+     * @return Completes when all images are pulled, or immediately when there is no cluster
+     */
+    public static CompletionStage<Void> prefetchImages(ExtensionContext context, Collection<String> images) {
+        return findProviderResult(context)
+                .map(result -> result.prefetchImages(images))
+                .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Replaces the baseline of the cluster of the test class with its current state, see
+     * {@link KubernetesProviderResult#snapshot()}
+     *
+     * @param context The extension context of the test class, or one of its tests
+     */
+    public static void snapshot(ExtensionContext context) {
+        getProviderResult(context).snapshot();
+    }
+
+    /**
+     * Resets the cluster of the test class to its baseline, see {@link KubernetesProviderResult#reset()}
+     *
+     * @param context The extension context of the test class, or one of its tests
+     */
+    public static void reset(ExtensionContext context) {
+        getProviderResult(context).reset();
+    }
+
+    private static KubernetesProviderResult getProviderResult(ExtensionContext context) {
+        return findProviderResult(context).orElseThrow(() -> new ExtensionConfigurationException(
+                "No cluster started by @%s".formatted(KubernetesTestCluster.class.getSimpleName())));
+    }
+
+    private static Optional<KubernetesProviderResult> findProviderResult(ExtensionContext context) {
+        var store = context.getStore(NAMESPACE);
+        var sessionKey = store.get(SESSION_KEY, String.class);
+        if (sessionKey != null) {
+            return Optional.ofNullable(context.getRoot().getStore(NAMESPACE).get(sessionKey, KubernetesProviderResult.class));
+        }
+        return Optional.ofNullable(store.get(KubernetesClusterProvider.class, KubernetesProviderResult.class));
     }
 
     Store getStore(ExtensionContext context) {
@@ -6,10 +6,13 @@ import static com.contentgrid.junit.jupiter.helpers.FieldHelper.getFieldValue;
 import com.contentgrid.junit.jupiter.helpers.FieldHelper;
 import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.Event.RepeatCount;
 import io.fabric8.junit.jupiter.HasKubernetesClient;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.extension.AfterAllCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.BeforeEachCallback;
@@ -18,7 +21,7 @@ import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
 
 @Slf4j
 public class KubernetesLoggerExtension implements HasKubernetesClient, BeforeAllCallback, BeforeEachCallback, AfterEachCallback,
-        LifecycleMethodExecutionExceptionHandler {
+        AfterAllCallback, LifecycleMethodExecutionExceptionHandler {
     private static List<Field> findTargetFields(ExtensionContext context, boolean isStatic)  {
         return findFields(context, KubernetesResourceLogger.class, f -> Modifier.isStatic(f.getModifiers()) == isStatic);
     }
@@ -43,12 +46,27 @@ public class KubernetesLoggerExtension implements HasKubernetesClient, BeforeAll
 
     @Override
     public void afterEach(ExtensionContext context) throws Exception {
-        if(context.getExecutionException().isEmpty()) {
-            return; // No need to write logs when no exception was thrown (so tests did not fail)
+        // No need to write logs when no exception was thrown (so tests did not fail)
+        if(context.getExecutionException().isPresent()) {
+            dumpLogs(context);
         }
 
-        dumpLogs(context);
+        closeLoggers(context, false);
+    }
 
+    @Override
+    public void afterAll(ExtensionContext context) throws Exception {
+        closeLoggers(context, true);
+    }
+
+    private void closeLoggers(ExtensionContext context, boolean isStatic) throws IllegalAccessException {
+        for (var field : findTargetFields(context, isStatic)) {
+            Object instance = isStatic ? context.getRequiredTestClass() : context.getRequiredTestInstance();
+            var logger = (KubernetesResourceLogger)getFieldValue(field, instance);
+            if(logger != null) {
+                logger.close();
+            }
+        }
     }
 
     private void dumpLogs(ExtensionContext context) throws IllegalAccessException {
@@ -61,8 +79,12 @@ public class KubernetesLoggerExtension implements HasKubernetesClient, BeforeAll
             Object instance = isStatic ? context.getRequiredTestClass() : context.getRequiredTestInstance();
             var logger = (KubernetesResourceLogger)getFieldValue(field, instance);
             if(logger != null) {
-                logger.logs()
-                        .forEachOrdered(line -> log.info("[{}] {} {} >>> {}", line.resource(), line.timestamp(), line.container(), line.line()));
+                if(logger.isFollowingLogs()) {
+                    writeFollowedLogs(context, logger);
+                } else {
+                    logger.logs()
+                            .forEachOrdered(line -> log.info("[{}] {} {} >>> {}", line.resource(), line.timestamp(), line.container(), line.line()));
+                }
                 logger.events()
                         .forEachOrdered(event -> log.info("[{}] {} {} >>> [{}] {}{}",
                                 event.resource(), event.timestamp(), event.type(), event.reason(), event.message(),
@@ -71,6 +93,19 @@ public class KubernetesLoggerExtension implements HasKubernetesClient, BeforeAll
         }
     }
 
+    private static void writeFollowedLogs(ExtensionContext context, KubernetesResourceLogger logger) {
+        try {
+            var file = Files.createTempFile("k8s-logs-", ".log.gz");
+            try (var output = Files.newOutputStream(file)) {
+                logger.writeFollowedLogs(output);
+            }
+            log.info("Logs of {} written to {}", context.getDisplayName(), file);
+            context.publishReportEntry("kubernetes-logs", file.toString());
+        } catch (IOException e) {
+            log.warn("Failed to write followed logs", e);
+        }
+    }
+
     private static String formatRepeatCount(RepeatCount repeat) {
         return " (×%s in %ss)".formatted(repeat.count(), repeat.period().getSeconds());
     }
@@ -5,10 +5,14 @@ import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource;
 import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.Event;
 import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.LogLine;
 import com.contentgrid.junit.jupiter.k8s.resource.ConfigurableResourceSet;
+import com.contentgrid.junit.jupiter.k8s.resource.LogWindow;
 import com.contentgrid.junit.jupiter.k8s.resource.ResourceMatcher;
 import com.contentgrid.junit.jupiter.k8s.resource.ResourceMatchingSpec;
+import com.contentgrid.junit.jupiter.k8s.resource.ResourceSet;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.stream.Stream;
 import lombok.NonNull;
@@ -20,6 +24,24 @@ public class KubernetesResourceLogger implements ResourceMatchingSpec<Kubernetes
     private final ConfigurableResourceSet resourceSet;
     @Setter
     private Instant logsSince = Instant.EPOCH;
+    /**
+     * Maximum number of lines to read from the end of each container log, or {@code null} for all lines
+     */
+    @Setter
+    private Integer tailLines;
+    /**
+     * Maximum number of bytes to read from each container log, or {@code null} for no limit
+     */
+    @Setter
+    private Integer limitBytes;
+    /**
+     * Number of bytes that are kept for every container when following logs, see {@link #followLogs()}
+     */
+    @Setter
+    private int followBufferBytes = 64 * 1024;
+
+    private LogFollower follower;
+    private ResourceSet.Subscription followSubscription;
 
     public KubernetesResourceLogger(KubernetesClient client) {
         this.resourceSet = ConfigurableResourceSet.of(client);
@@ -45,10 +67,44 @@ public class KubernetesResourceLogger implements ResourceMatchingSpec<Kubernetes
         return this;
     }
 
+    /**
+     * Follow the logs of the containers of matching resources in the background, as soon as they start.
+     * <p>
+     * Only the last {@link #followBufferBytes(int)} bytes of every container are kept. The followed logs remain
+     * available after a container restarts or a pod is deleted, and are written out by
+     * {@link KubernetesLoggerExtension} when a test fails.
+     */
+    public synchronized KubernetesResourceLogger followLogs() {
+        if (follower == null) {
+            follower = new LogFollower(followBufferBytes);
+            // Pods are followed directly, so pods that are recreated or restarted are picked up as well
+            followSubscription = resourceSet.subscribeOwnedPods(follower);
+        }
+        return this;
+    }
+
+    public synchronized boolean isFollowingLogs() {
+        return follower != null;
+    }
+
+    /**
+     * Writes the logs that were followed as gzip-compressed text
+     *
+     * @see #followLogs()
+     */
+    public synchronized void writeFollowedLogs(@NonNull OutputStream output) throws IOException {
+        if (follower == null) {
+            throw new IllegalStateException("Logs are not followed");
+        }
+        follower.writeTo(output);
+    }
+
     public Stream<LogLine> logs() {
-        return resourceSet.stream()
-                .flatMap(AwaitableResource::logs)
-                .filter(logLine -> logLine.timestamp().isAfter(logsSince));
+        return LogCollector.collect(resourceSet.stream(), logWindow());
+    }
+
+    private LogWindow logWindow() {
+        return new LogWindow(logsSince, tailLines, limitBytes);
     }
 
     public Stream<Event> events() {
@@ -58,7 +114,11 @@ public class KubernetesResourceLogger implements ResourceMatchingSpec<Kubernetes
     }
 
     @Override
-    public void close() {
+    public synchronized void close() {
+        if (follower != null) {
+            followSubscription.close();
+            follower.close();
+        }
         resourceSet.close();
     }
 }
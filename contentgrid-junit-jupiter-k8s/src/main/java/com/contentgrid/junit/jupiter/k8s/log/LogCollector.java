@@ -0,0 +1,176 @@
+package com.contentgrid.junit.jupiter.k8s.log;
+
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource;
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.LogLine;
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.LogSource;
+import com.contentgrid.junit.jupiter.k8s.resource.LogWindow;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads the logs of resources concurrently, and merges them into a single stream ordered by timestamp.
+ * <p>
+ * Every {@link LogSource} (typically a single container) is read as a separate task, with at most
+ * {@value #MAX_CONCURRENT_READS} reads in flight JVM-wide. Reads run on virtual threads when the runtime supports them,
+ * and on a fixed pool of platform threads otherwise.
+ */
+@Slf4j
+@UtilityClass
+public class LogCollector {
+
+    /**
+     * Maximum number of log sources that are read at the same time
+     */
+    public final int MAX_CONCURRENT_READS = 16;
+
+    private final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    // null when the runtime does not support virtual threads
+    private final ExecutorService VIRTUAL_READERS = createVirtualThreadExecutor();
+
+    // Virtual threads are not pooled, so their reads are limited by permits. A pool of platform threads is already
+    // limited by its size.
+    private final Semaphore READ_PERMITS = VIRTUAL_READERS != null ? new Semaphore(MAX_CONCURRENT_READS) : null;
+
+    private final ExecutorService READERS = VIRTUAL_READERS != null ? VIRTUAL_READERS : createThreadPool();
+
+    private ExecutorService createVirtualThreadExecutor() {
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() is only available on Java 21+
+            var factory = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+            return (ExecutorService) factory.invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    private ExecutorService createThreadPool() {
+        return Executors.newFixedThreadPool(MAX_CONCURRENT_READS, runnable -> {
+            var thread = new Thread(runnable, "k8s-log-reader-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads the logs of all resources concurrently
+     *
+     * @param resources The resources to read logs from
+     * @return All log lines, ordered by timestamp
+     */
+    public Stream<LogLine> collect(Stream<? extends AwaitableResource> resources) {
+        return collect(resources, LogWindow.UNBOUNDED);
+    }
+
+    /**
+     * Reads the logs of all resources concurrently
+     *
+     * @param resources The resources to read logs from
+     * @param window The window of logs to read from every container
+     * @return All log lines in the window, ordered by timestamp
+     */
+    public Stream<LogLine> collect(Stream<? extends AwaitableResource> resources, LogWindow window) {
+        return collectAsync(resources, window).join().stream();
+    }
+
+    /**
+     * Starts reading the logs of all resources concurrently
+     *
+     * @param resources The resources to read logs from
+     * @return Future with all log lines, ordered by timestamp
+     */
+    public CompletableFuture<List<LogLine>> collectAsync(Stream<? extends AwaitableResource> resources) {
+        return collectAsync(resources, LogWindow.UNBOUNDED);
+    }
+
+    /**
+     * Starts reading the logs of all resources concurrently
+     *
+     * @param resources The resources to read logs from
+     * @param window The window of logs to read from every container
+     * @return Future with all log lines in the window, ordered by timestamp
+     */
+    public CompletableFuture<List<LogLine>> collectAsync(Stream<? extends AwaitableResource> resources, LogWindow window) {
+        var reads = resources.flatMap(resource -> resource.logSources(window))
+                .map(LogCollector::read)
+                .toList();
+
+        return CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> merge(reads.stream().map(CompletableFuture::join).toList()));
+    }
+
+    private CompletableFuture<List<LogLine>> read(LogSource source) {
+        return CompletableFuture.supplyAsync(() -> {
+            if (READ_PERMITS == null) {
+                return readLines(source);
+            }
+            try {
+                READ_PERMITS.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.of();
+            }
+            try {
+                return readLines(source);
+            } finally {
+                READ_PERMITS.release();
+            }
+        }, READERS);
+    }
+
+    private List<LogLine> readLines(LogSource source) {
+        try (var lines = source.read()) {
+            return lines.toList();
+        } catch (RuntimeException e) {
+            // Logs are diagnostics; one failing container must not hide the logs of the others
+            log.warn("Failed to read logs: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * k-way merge of log lines that are ordered per source. Lines with the same timestamp keep the order of their
+     * sources.
+     */
+    List<LogLine> merge(List<List<LogLine>> sources) {
+        record Head(LogLine line, int source, Iterator<LogLine> rest) {
+
+        }
+
+        var queue = new PriorityQueue<Head>(Math.max(1, sources.size()), Comparator
+                .comparing((Head head) -> head.line().timestamp())
+                .thenComparingInt(Head::source));
+        var size = 0;
+        for (int i = 0; i < sources.size(); i++) {
+            var iterator = sources.get(i).iterator();
+            size += sources.get(i).size();
+            if (iterator.hasNext()) {
+                queue.add(new Head(iterator.next(), i, iterator));
+            }
+        }
+
+        var merged = new ArrayList<LogLine>(size);
+        while (!queue.isEmpty()) {
+            var head = queue.poll();
+            merged.add(head.line());
+            if (head.rest().hasNext()) {
+                queue.add(new Head(head.rest().next(), head.source(), head.rest()));
+            }
+        }
+        return merged;
+    }
+}
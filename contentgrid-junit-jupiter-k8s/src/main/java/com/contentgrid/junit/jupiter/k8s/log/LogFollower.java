@@ -0,0 +1,130 @@
+package com.contentgrid.junit.jupiter.k8s.log;
+
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource;
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.FollowableLog;
+import com.contentgrid.junit.jupiter.k8s.resource.ResourceSetListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Follows the container logs of resources as soon as the containers start, keeping the most recent bytes of every
+ * container in a {@link LogRingBuffer}.
+ * <p>
+ * Logs are kept after a pod is deleted or a container restarts, so they are still available when a test fails.
+ * <p>
+ * The follower listens to pod changes, which are delivered on informer threads. Logs are started on a separate thread,
+ * so the informers are never blocked by calls to the API server.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class LogFollower implements ResourceSetListener, AutoCloseable {
+
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final int bufferBytes;
+
+    private final Map<String, FollowedLog> followed = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "k8s-log-follower");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean closed = false;
+
+    private record FollowedLog(FollowableLog log, LogRingBuffer buffer, Closeable watch) {
+
+    }
+
+    @Override
+    public void resourceChanged(AwaitableResource resource) {
+        if (closed) {
+            return;
+        }
+        try {
+            executor.execute(() -> followLogs(resource));
+        } catch (RejectedExecutionException e) {
+            // Closed concurrently
+        }
+    }
+
+    private void followLogs(AwaitableResource resource) {
+        resource.followableLogs()
+                .takeWhile(followableLog -> !closed)
+                .forEach(followableLog -> followed.computeIfAbsent(followableLog.id(), id -> follow(followableLog)));
+    }
+
+    @Override
+    public void resourceRemoved(AwaitableResource resource) {
+        // Keep the buffered logs; the log watches end by themselves when the containers are gone
+    }
+
+    private FollowedLog follow(FollowableLog followableLog) {
+        var buffer = new LogRingBuffer(bufferBytes);
+        try {
+            return new FollowedLog(followableLog, buffer, followableLog.follow(buffer));
+        } catch (RuntimeException e) {
+            // Not recorded, so it is retried on the next change of the resource
+            log.debug("Failed to follow logs of {} container {}: {}", followableLog.resource(), followableLog.container(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return Whether any logs have been followed
+     */
+    boolean isEmpty() {
+        return followed.isEmpty();
+    }
+
+    /**
+     * Writes the buffered logs of all containers as gzip-compressed text
+     */
+    void writeTo(OutputStream output) throws IOException {
+        try (var gzip = new GZIPOutputStream(output)) {
+            for (var followedLog : followed.values()) {
+                var header = "==> [%s] %s (%s) <==%n".formatted(followedLog.log().resource(),
+                        followedLog.log().container(), followedLog.log().id());
+                gzip.write(header.getBytes(StandardCharsets.UTF_8));
+                gzip.write(followedLog.buffer().toByteArray());
+                gzip.write(System.lineSeparator().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Stops following all logs. The buffered logs are kept.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.debug("Logs are still being followed after {}", CLOSE_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (var followedLog : followed.values()) {
+            try {
+                followedLog.watch().close();
+            } catch (IOException e) {
+                log.debug("Failed to stop following logs of {}", followedLog.log().id(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.contentgrid.junit.jupiter.k8s.log;
+
+import java.io.OutputStream;
+
+/**
+ * Bounded buffer that keeps the most recent bytes written to it
+ */
+class LogRingBuffer extends OutputStream {
+
+    private final byte[] buffer;
+    private int position = 0;
+    private boolean wrapped = false;
+
+    LogRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, but was %d".formatted(capacity));
+        }
+        this.buffer = new byte[capacity];
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        buffer[position] = (byte) b;
+        advance(1);
+    }
+
+    @Override
+    public synchronized void write(byte[] bytes, int offset, int length) {
+        if (length >= buffer.length) {
+            // Only the tail fits
+            System.arraycopy(bytes, offset + length - buffer.length, buffer, 0, buffer.length);
+            position = 0;
+            wrapped = true;
+            return;
+        }
+        var first = Math.min(length, buffer.length - position);
+        System.arraycopy(bytes, offset, buffer, position, first);
+        System.arraycopy(bytes, offset + first, buffer, 0, length - first);
+        advance(length);
+    }
+
+    private void advance(int length) {
+        position += length;
+        if (position >= buffer.length) {
+            position -= buffer.length;
+            wrapped = true;
+        }
+    }
+
+    /**
+     * @return The buffered bytes, oldest first. When older bytes were dropped, the partial first line is skipped.
+     */
+    synchronized byte[] toByteArray() {
+        if (!wrapped) {
+            var contents = new byte[position];
+            System.arraycopy(buffer, 0, contents, 0, position);
+            return contents;
+        }
+
+        // The oldest byte is at the current position
+        var skip = 0;
+        for (int i = 0; i < buffer.length; i++) {
+            if (buffer[(position + i) % buffer.length] == '\n') {
+                skip = i + 1;
+                break;
+            }
+        }
+        var start = (position + skip) % buffer.length;
+        var length = buffer.length - skip;
+        var contents = new byte[length];
+        var first = Math.min(length, buffer.length - start);
+        System.arraycopy(buffer, start, contents, 0, first);
+        System.arraycopy(buffer, 0, contents, first, length - first);
+        return contents;
+    }
+}
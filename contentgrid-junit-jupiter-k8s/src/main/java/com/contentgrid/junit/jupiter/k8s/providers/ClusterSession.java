@@ -0,0 +1,185 @@
+package com.contentgrid.junit.jupiter.k8s.providers;
+
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A test run that uses a reused cluster, registered in the cluster as a {@link Lease} that is renewed by a heartbeat.
+ * <p>
+ * Test runs use the sessions to find out whether they are the only run that uses the cluster, before they clean up
+ * what earlier runs left behind. A session is alive as long as its lease is renewed; this is observed through the
+ * resource version of the lease, so the clocks of the test runs and the cluster do not need to agree.
+ */
+@Slf4j
+class ClusterSession implements AutoCloseable {
+
+    static final String NAMESPACE = "kube-system";
+
+    static final String LABEL = "contentgrid.com/test-session";
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(5);
+
+    /**
+     * Number of heartbeats a session may miss before it is considered abandoned
+     */
+    private static final int MISSED_HEARTBEATS = 3;
+
+    private final KubernetesClient client;
+
+    private final Duration heartbeatInterval;
+
+    @Getter
+    private final String name = "test-session-" + UUID.randomUUID();
+
+    /**
+     * The time at which the session was registered, according to the cluster
+     */
+    @Getter
+    private final Instant registeredAt;
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "k8s-test-session-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    ClusterSession(@NonNull KubernetesClient client, @NonNull Duration heartbeatInterval) {
+        this.client = client;
+        this.heartbeatInterval = heartbeatInterval;
+
+        var lease = create();
+        this.registeredAt = Instant.parse(lease.getMetadata().getCreationTimestamp());
+
+        heartbeat.scheduleWithFixedDelay(this::renew, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a new session in the cluster
+     *
+     * @param client Client for the cluster, which is closed with the session
+     */
+    static ClusterSession register(KubernetesClient client) {
+        return new ClusterSession(client, HEARTBEAT_INTERVAL);
+    }
+
+    private Lease create() {
+        return client.resources(Lease.class).inNamespace(NAMESPACE).resource(new LeaseBuilder()
+                        .withNewMetadata()
+                        .withName(name)
+                        .addToLabels(LABEL, "true")
+                        .endMetadata()
+                        .withNewSpec()
+                        .withHolderIdentity(ManagementFactory.getRuntimeMXBean().getName())
+                        .withLeaseDurationSeconds((int) Math.max(1, heartbeatInterval.multipliedBy(MISSED_HEARTBEATS).toSeconds()))
+                        .withRenewTime(ZonedDateTime.now())
+                        .endSpec()
+                        .build())
+                .create();
+    }
+
+    /**
+     * Renews the lease of the session, and registers the session again when its lease is gone, e.g. because the
+     * datastore of the cluster was restored from a snapshot that was taken before the session was registered
+     */
+    void renew() {
+        try {
+            client.resources(Lease.class).inNamespace(NAMESPACE).withName(name).edit(lease -> new LeaseBuilder(lease)
+                    .editSpec()
+                    .withRenewTime(ZonedDateTime.now())
+                    .endSpec()
+                    .build());
+        } catch (KubernetesClientException e) {
+            if (e.getCode() == HttpURLConnection.HTTP_NOT_FOUND) {
+                reregister();
+                return;
+            }
+            log.debug("Failed to renew test session {}: {}", name, e.getMessage());
+        }
+    }
+
+    private void reregister() {
+        try {
+            create();
+            log.info("Registered test session {} again, its lease was removed", name);
+        } catch (KubernetesClientException e) {
+            log.debug("Failed to register test session {} again: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether other test runs are using the cluster. Sessions that are not renewed while they are observed are
+     * abandoned, and are removed.
+     * <p>
+     * This blocks for a few heartbeats when there are other sessions.
+     *
+     * @return Whether another session is alive
+     */
+    boolean isShared() throws InterruptedException {
+        var observed = otherSessions();
+        if (observed.isEmpty()) {
+            return false;
+        }
+
+        log.info("Checking whether {} other test sessions are still alive", observed.size());
+        Thread.sleep(heartbeatInterval.multipliedBy(MISSED_HEARTBEATS).toMillis());
+
+        var current = otherSessions();
+        var alive = current.entrySet()
+                .stream()
+                .anyMatch(session -> !Objects.equals(observed.get(session.getKey()), session.getValue()));
+
+        observed.forEach((session, resourceVersion) -> {
+            if (Objects.equals(current.get(session), resourceVersion)) {
+                log.info("Removing abandoned test session {}", session);
+                client.resources(Lease.class).inNamespace(NAMESPACE).withName(session).delete();
+            }
+        });
+
+        return alive;
+    }
+
+    /**
+     * @return The resource versions of the leases of the other sessions, by name
+     */
+    private Map<String, String> otherSessions() {
+        return client.resources(Lease.class).inNamespace(NAMESPACE).withLabel(LABEL, "true").list().getItems()
+                .stream()
+                .filter(lease -> !name.equals(lease.getMetadata().getName()))
+                .collect(Collectors.toMap(lease -> lease.getMetadata().getName(),
+                        lease -> lease.getMetadata().getResourceVersion()));
+    }
+
+    /**
+     * Stops the heartbeat and removes the session
+     */
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        try {
+            client.resources(Lease.class).inNamespace(NAMESPACE).withName(name).delete();
+        } catch (KubernetesClientException e) {
+            // The session is removed as abandoned by the next test run
+            log.debug("Failed to remove test session {}: {}", name, e.getMessage());
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -3,6 +3,21 @@ package com.contentgrid.junit.jupiter.k8s.providers;
 import com.contentgrid.testcontainers.k3s.customizer.K3sContainerCustomizer;
 import com.contentgrid.testcontainers.k3s.customizer.K3sContainerCustomizers;
 import com.contentgrid.testcontainers.k3s.customizer.K3sContainerCustomizersImpl;
+import com.contentgrid.testcontainers.k3s.customizer.ReusableK3sContainerCustomizer;
+import com.contentgrid.testcontainers.k3s.customizer.SnapshotK3sContainerCustomizer;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 import lombok.AccessLevel;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +35,11 @@ import org.testcontainers.utility.DockerImageName;
 public class K3sTestcontainersClusterProvider implements KubernetesClusterProvider,
         K3sContainerCustomizers {
 
+    private static final Pattern TEST_NAMESPACE = Pattern.compile(
+            ".*[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+
+    private static final int MAX_CONCURRENT_PULLS = 4;
+
     public static final DockerImageName IMAGE_RANCHER_K3S = DockerImageName.parse("rancher/k3s");
 
     @NonNull
@@ -29,6 +49,11 @@ public class K3sTestcontainersClusterProvider implements KubernetesClusterProvid
     @Delegate(types = K3sContainerCustomizers.class)
     private final K3sContainerCustomizersImpl customizers = new K3sContainerCustomizersImpl();
 
+    /**
+     * The session of this test run in a reusable cluster
+     */
+    private ClusterSession session;
+
     public K3sTestcontainersClusterProvider() {
         this(new K3sContainer(IMAGE_RANCHER_K3S));
     }
@@ -48,16 +73,180 @@ public class K3sTestcontainersClusterProvider implements KubernetesClusterProvid
 
         this.customizers.customize(this.container);
         this.container.start();
+        this.customizers.afterStart(this.container);
+
+        if (ReusableK3sContainerCustomizer.isReusable(this.container)) {
+            // Registered before looking for other sessions, so concurrent runs always see each other
+            this.session = ClusterSession.register(createClient());
+            if (ReusableK3sContainerCustomizer.isReused(this.container)) {
+                log.info("Reusing running k3s container {}", this.container.getContainerId());
+                cleanUpReusedCluster();
+            }
+        }
+
+        return new DelegatedKubernetesProviderResult(this.container.getKubeConfigYaml(), this::stop, this::prefetchImages) {
+            @Override
+            public void snapshot() {
+                K3sTestcontainersClusterProvider.this.snapshot();
+            }
+
+            @Override
+            public void reset() {
+                K3sTestcontainersClusterProvider.this.reset();
+            }
+        };
+    }
+
+    /**
+     * Pulls images into containerd of the k3s node in parallel, through the configured registry mirrors
+     */
+    private CompletionStage<Void> prefetchImages(Collection<String> images) {
+        var threadCounter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(MAX_CONCURRENT_PULLS, runnable -> {
+            var thread = new Thread(runnable, "k3s-image-prefetch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return CompletableFuture.allOf(images.stream()
+                    .distinct()
+                    .map(image -> CompletableFuture.runAsync(() -> pullImage(image), executor))
+                    .toArray(CompletableFuture[]::new));
+        } finally {
+            // already submitted pulls still run
+            executor.shutdown();
+        }
+    }
+
+    private void pullImage(String image) {
+        try {
+            var result = this.container.execInContainer("crictl", "pull", image);
+            if (result.getExitCode() == 0) {
+                log.debug("Prefetched image {}", image);
+            } else {
+                log.warn("Failed to prefetch image {}: {}", image, result.getStderr());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to prefetch image {}: {}", image, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private KubernetesClient createClient() {
+        return new KubernetesClientBuilder().withConfig(Config.fromKubeconfig(this.container.getKubeConfigYaml())).build();
+    }
+
+    /**
+     * Cleans up what earlier test runs left behind in a reused cluster, unless other test runs are still using it
+     */
+    private void cleanUpReusedCluster() {
+        if (isShared()) {
+            return;
+        }
+        // restoring restarts k3s, so it is only done when no other run is using the cluster
+        if (SnapshotK3sContainerCustomizer.isEnabled(this.container)) {
+            restore();
+        } else {
+            deleteStaleNamespaces();
+        }
+    }
+
+    /**
+     * @return Whether other test runs are using the cluster, in which case nothing may be cleaned up
+     */
+    private boolean isShared() {
+        try {
+            if (this.session.isShared()) {
+                log.info("k3s container {} is in use by other test runs, not cleaning it up", this.container.getContainerId());
+                return true;
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    /**
+     * Deletes test namespaces that were left behind in a reused cluster by earlier test runs, which did not clean up
+     * (e.g. because the JVM was killed).
+     * <p>
+     * Test namespaces are created by fabric8's {@code NamespaceExtension}, with a random UUID in their name. Only
+     * namespaces created before the session of this run was registered are deleted, so namespaces of the current run
+     * are kept. Both times are set by the cluster.
+     */
+    private void deleteStaleNamespaces() {
+        try (var client = createClient()) {
+            var stale = client.namespaces().list().getItems()
+                    .stream()
+                    .filter(namespace -> isStaleTestNamespace(namespace, this.session.getRegisteredAt()))
+                    .toList();
+            if (!stale.isEmpty()) {
+                log.info("Deleting {} stale test namespaces", stale.size());
+                client.resourceList(stale).delete();
+            }
+        } catch (KubernetesClientException e) {
+            log.warn("Failed to delete stale test namespaces: {}", e.getMessage());
+        }
+    }
 
-        return new DelegatedKubernetesProviderResult(this.container.getKubeConfigYaml(), this::stop);
+    static boolean isStaleTestNamespace(Namespace namespace, Instant sessionRegisteredAt) {
+        return TEST_NAMESPACE.matcher(namespace.getMetadata().getName()).matches()
+                && Instant.parse(namespace.getMetadata().getCreationTimestamp()).isBefore(sessionRegisteredAt);
     }
 
     @Override
     public void stop() {
+        if (this.session != null) {
+            this.session.close();
+            this.session = null;
+        }
+        if (ReusableK3sContainerCustomizer.isReusable(this.container)) {
+            log.info("Keeping k3s container {} running for reuse", this.container.getContainerId());
+            return;
+        }
         log.debug("Stopping {}", this.container);
         this.container.close();
     }
 
+    /**
+     * Resets the cluster to its baseline, by restoring the snapshot of the datastore and restarting k3s inside the
+     * running container. The baseline is the state right after the cluster was started, unless it is replaced with
+     * {@link #snapshot()}.
+     * <p>
+     * This requires the {@link SnapshotK3sContainerCustomizer}. Restarting k3s affects every test run that uses the
+     * cluster.
+     *
+     * @throws IllegalStateException when the cluster can not be reset
+     */
+    public void reset() {
+        log.info("Resetting k3s container {}", this.container.getContainerId());
+        restore();
+    }
+
+    private void restore() {
+        SnapshotK3sContainerCustomizer.restore(this.container);
+        if (this.session != null) {
+            // the snapshot does not contain the lease of this session, so other runs would no longer see it
+            this.session.renew();
+        }
+    }
+
+    /**
+     * Replaces the baseline that {@link #reset()} restores with the current state of the cluster, e.g. after the
+     * operators that all tests need are installed.
+     * <p>
+     * This requires the {@link SnapshotK3sContainerCustomizer}. Restarting k3s affects every test run that uses the
+     * cluster.
+     *
+     * @throws IllegalStateException when the snapshot can not be taken
+     */
+    public void snapshot() {
+        log.info("Taking snapshot of k3s container {}", this.container.getContainerId());
+        SnapshotK3sContainerCustomizer.snapshot(this.container);
+    }
+
     boolean isDockerAvailable() {
         try {
             DockerClientFactory.instance().client();
@@ -2,7 +2,11 @@ package com.contentgrid.junit.jupiter.k8s.providers;
 
 import com.contentgrid.junit.jupiter.k8s.providers.KubernetesClusterProvider.KubernetesProviderResult;
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
@@ -30,6 +34,37 @@ public interface KubernetesClusterProvider extends AutoCloseable {
     interface KubernetesProviderResult extends CloseableResource {
 
         String getKubeConfigYaml();
+
+        /**
+         * Pulls images into the cluster ahead of time, so pods using them do not have to wait for the pull.
+         * <p>
+         * Prefetching is best-effort: images that fail to pull are ignored. Providers that can not prefetch images
+         * complete immediately.
+         *
+         * @param images The image references to pull
+         * @return Completes when all images are pulled
+         */
+        default CompletionStage<Void> prefetchImages(Collection<String> images) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * Replaces the baseline that {@link #reset()} restores with the current state of the cluster
+         *
+         * @throws UnsupportedOperationException when the provider can not snapshot the cluster
+         */
+        default void snapshot() {
+            throw new UnsupportedOperationException("Cluster can not be snapshotted");
+        }
+
+        /**
+         * Resets the cluster to its baseline: its state right after it was started, or the last {@link #snapshot()}
+         *
+         * @throws UnsupportedOperationException when the provider can not reset the cluster
+         */
+        default void reset() {
+            throw new UnsupportedOperationException("Cluster can not be reset");
+        }
     }
 
     @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
@@ -63,6 +98,18 @@ class DelegatedKubernetesProviderResult implements KubernetesProviderResult {
     @NonNull
     final Closeable closeableDelegate;
 
+    @NonNull
+    final Function<Collection<String>, CompletionStage<Void>> imagePrefetcher;
+
+    DelegatedKubernetesProviderResult(@NonNull String kubeConfigYaml, @NonNull Closeable closeableDelegate) {
+        this(kubeConfigYaml, closeableDelegate, images -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public CompletionStage<Void> prefetchImages(Collection<String> images) {
+        return this.imagePrefetcher.apply(images);
+    }
+
     @Override
     public void close() throws Throwable {
         this.closeableDelegate.close();
@@ -8,6 +8,8 @@ import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
 import lombok.Getter;
@@ -43,11 +45,16 @@ public abstract class AbstractAwaitableResource<T extends HasMetadata> implement
 
     @Override
     public Stream<Event> events() {
-        return client.v1().events()
-                .withInvolvedObject(getObjectReference())
-                .resources()
-                .map(Resource::require)
-                .map(this::createEvent);
+        return factory.getResourceIndex()
+                .flatMap(index -> index.eventsOf(item))
+                .map(List::stream)
+                // Without an index, fall back to listing the events of this resource
+                .orElseGet(() -> client.v1().events()
+                        .withInvolvedObject(getObjectReference())
+                        .resources()
+                        .map(Resource::require))
+                .map(this::createEvent)
+                .sorted(Comparator.comparing(Event::timestamp));
     }
 
     private Event createEvent(io.fabric8.kubernetes.api.model.Event event) {
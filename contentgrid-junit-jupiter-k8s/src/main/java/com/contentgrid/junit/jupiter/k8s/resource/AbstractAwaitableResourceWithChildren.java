@@ -3,7 +3,10 @@ package com.contentgrid.junit.jupiter.k8s.resource;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.Listable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 import lombok.NonNull;
 
@@ -30,14 +33,42 @@ abstract class AbstractAwaitableResourceWithChildren<T extends HasMetadata, C ex
                 .flatMap(AwaitableResource::logs);
     }
 
+    @Override
+    public Stream<LogSource> logSources(LogWindow window) {
+        return getRelatedResources()
+                .flatMap(resource -> resource.logSources(window));
+    }
+
+    @Override
+    public Stream<FollowableLog> followableLogs() {
+        return getRelatedResources()
+                .flatMap(AwaitableResource::followableLogs);
+    }
+
     protected Stream<AwaitableResource> getRelatedResources() {
-        return createChildResourcesFilter()
-                .list()
-                .getItems()
+        var accessor = createChildResourcesAccessor();
+        return factory.getResourceIndex()
+                .flatMap(index -> index.childrenOf(item, getChildType(), accessor))
+                // Without an index, fall back to listing all children in the namespace
+                .orElseGet(() -> listChildResources(accessor))
                 .stream()
                 .filter(child -> child.hasOwnerReferenceFor(item))
                 .map(child -> factory.instantiate(client, child));
     }
 
-    protected abstract Listable<? extends KubernetesResourceList<? extends C>> createChildResourcesFilter();
+    private List<C> listChildResources(MixedOperation<C, ? extends KubernetesResourceList<C>, ? extends Resource<C>> accessor) {
+        return accessor.inNamespace(item.getMetadata().getNamespace())
+                .withLabels(getChildSelector())
+                .list()
+                .getItems();
+    }
+
+    protected abstract Class<C> getChildType();
+
+    /**
+     * @return Labels that all children have, to narrow down listing children when there is no index
+     */
+    protected abstract Map<String, String> getChildSelector();
+
+    protected abstract MixedOperation<C, ? extends KubernetesResourceList<C>, ? extends Resource<C>> createChildResourcesAccessor();
 }
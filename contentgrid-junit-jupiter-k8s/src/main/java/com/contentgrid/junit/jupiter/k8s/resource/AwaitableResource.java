@@ -2,6 +2,8 @@ package com.contentgrid.junit.jupiter.k8s.resource;
 
 import io.fabric8.kubernetes.api.model.KubernetesResource;
 import io.fabric8.kubernetes.api.model.ObjectReference;
+import java.io.Closeable;
+import java.io.OutputStream;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.stream.Stream;
@@ -17,6 +19,58 @@ public interface AwaitableResource {
     Stream<LogLine> logs();
     Stream<Event> events();
 
+    /**
+     * @return Sources of the logs of this resource that can be read independently (e.g. one per container). Reading
+     * all sources yields the same lines as {@link #logs()}.
+     */
+    default Stream<LogSource> logSources() {
+        return logSources(LogWindow.UNBOUNDED);
+    }
+
+    /**
+     * @param window The window of logs to read
+     * @return Sources of the logs of this resource that can be read independently, only reading logs in the window
+     */
+    default Stream<LogSource> logSources(LogWindow window) {
+        return Stream.of(() -> logs().filter(window::includes));
+    }
+
+    /**
+     * @return The container logs of this resource (and its children) that can be followed, for containers that have
+     * started
+     */
+    default Stream<FollowableLog> followableLogs() {
+        return Stream.empty();
+    }
+
+    interface FollowableLog {
+
+        /**
+         * @return Identity of the container instance; a restarted container gets a new identity
+         */
+        String id();
+
+        AwaitableResource resource();
+
+        String container();
+
+        /**
+         * Starts following the log in the background, writing timestamped log lines to the output
+         *
+         * @return Stops following the log when closed
+         */
+        Closeable follow(OutputStream output);
+    }
+
+    @FunctionalInterface
+    interface LogSource {
+
+        /**
+         * @return The log lines of this source, ordered by timestamp
+         */
+        Stream<LogLine> read();
+    }
+
     record LogLine(
             @NonNull
             AwaitableResource resource,
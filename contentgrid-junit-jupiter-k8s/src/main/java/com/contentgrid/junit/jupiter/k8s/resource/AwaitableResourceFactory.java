@@ -4,14 +4,35 @@ import io.fabric8.kubernetes.api.model.KubernetesResource;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
 
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 class AwaitableResourceFactory {
-    private final Map<Class<? extends KubernetesResource>, AwaitableResourceInstantiator<KubernetesResource>> factories = new HashMap<>();
+    private final Map<Class<? extends KubernetesResource>, AwaitableResourceInstantiator<KubernetesResource>> factories;
+    private final ResourceIndex resourceIndex;
+
+    AwaitableResourceFactory() {
+        this(new HashMap<>(), null);
+    }
 
     public <T extends KubernetesResource> void registerFactory(Class<T> type, AwaitableResourceInstantiator<T> factory) {
         factories.put(type, (AwaitableResourceInstantiator<KubernetesResource>) factory);
     }
 
+    /**
+     * @return A factory with the same registrations, of which the instantiated resources look up their children in the
+     * index
+     */
+    public AwaitableResourceFactory withResourceIndex(ResourceIndex resourceIndex) {
+        return new AwaitableResourceFactory(factories, resourceIndex);
+    }
+
+    public Optional<ResourceIndex> getResourceIndex() {
+        return Optional.ofNullable(resourceIndex);
+    }
+
     public AwaitableResource instantiate(KubernetesClient client, KubernetesResource resource) {
         return factories.get(resource.getClass()).instantiate(client, this, resource);
     }
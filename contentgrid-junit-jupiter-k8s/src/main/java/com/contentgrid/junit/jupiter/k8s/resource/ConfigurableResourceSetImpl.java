@@ -4,6 +4,7 @@ import com.contentgrid.helm.HelmInstallCommand.InstallResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.OwnerReference;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.apps.DaemonSet;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
@@ -13,16 +14,20 @@ import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Base64;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import lombok.NonNull;
@@ -33,12 +38,17 @@ import org.apache.commons.codec.binary.Base64InputStream;
 /**
  * A set of kubernetes resources, based on {@link ResourceMatcher}.
  */
-@RequiredArgsConstructor
 class ConfigurableResourceSetImpl implements ConfigurableResourceSet {
     private final KubernetesClient client;
 
+    private final ResourceIndex resourceIndex;
+
+    private final AwaitableResourceFactory resourceFactory;
+
     private final Map<Class<HasMetadata>, MatchableResource<HasMetadata>> matchableResources = new HashMap<>();
 
+    private final Set<SubscriptionImpl> subscriptions = ConcurrentHashMap.newKeySet();
+
     private static final Map<Class<? extends HasMetadata>, Function<KubernetesClient, MixedOperation<? extends HasMetadata, ? extends KubernetesResourceList<? extends HasMetadata>, ? extends Resource<? extends HasMetadata>>>> RESOURCE_ACCESSORS = Map.of(
             Deployment.class, client -> client.apps().deployments(),
             StatefulSet.class, client -> client.apps().statefulSets(),
@@ -47,6 +57,13 @@ class ConfigurableResourceSetImpl implements ConfigurableResourceSet {
             ReplicaSet.class, client -> client.apps().replicaSets()
     );
 
+    /**
+     * The types of {@link #RESOURCE_ACCESSORS}, by their {@code apiVersion/kind}
+     */
+    private static final Map<String, Class<? extends HasMetadata>> RESOURCE_TYPES = RESOURCE_ACCESSORS.keySet()
+            .stream()
+            .collect(Collectors.toUnmodifiableMap(type -> HasMetadata.getApiVersion(type) + "/" + HasMetadata.getKind(type), Function.identity()));
+
     private static final AwaitableResourceFactory awaitableResourceFactory = new AwaitableResourceFactory();
 
     static {
@@ -58,12 +75,25 @@ class ConfigurableResourceSetImpl implements ConfigurableResourceSet {
         awaitableResourceFactory.registerFactory(DaemonSet.class, DaemonSetAwaitableResource::new);
     }
 
+    ConfigurableResourceSetImpl(@NonNull KubernetesClient client) {
+        this.client = client;
+        this.resourceIndex = new ResourceIndex(client, SharedInformerRegistry.getInstance());
+        this.resourceFactory = awaitableResourceFactory.withResourceIndex(resourceIndex);
+    }
+
     private <T extends HasMetadata> MatchableResource<T> matchableResource(
             @NonNull Class<T> type
     ) {
-        return (MatchableResource<T>) matchableResources.computeIfAbsent((Class<HasMetadata>)type, (t) -> new MatchableResource<>(
-                (MixedOperation<HasMetadata, ? extends KubernetesResourceList<HasMetadata>, ? extends Resource<HasMetadata>>) RESOURCE_ACCESSORS.get(t).apply(client)
-        ));
+        return (MatchableResource<T>) matchableResources.computeIfAbsent((Class<HasMetadata>)type, (t) -> {
+            var matchableResource = new MatchableResource<>(
+                    client,
+                    t,
+                    (MixedOperation<HasMetadata, ? extends KubernetesResourceList<HasMetadata>, ? extends Resource<HasMetadata>>) RESOURCE_ACCESSORS.get(t).apply(client),
+                    SharedInformerRegistry.getInstance()
+            );
+            subscriptions.forEach(subscription -> subscription.attach(matchableResource));
+            return matchableResource;
+        });
     }
 
     private <T extends HasMetadata> ResourceMatcher.NamespacedResourceMatcher<T> makeNamespacedResourceMatcher(
@@ -83,9 +113,30 @@ class ConfigurableResourceSetImpl implements ConfigurableResourceSet {
         return this;
     }
 
-    @SneakyThrows(IOException.class)
     @Override
     public ConfigurableResourceSet include(@NonNull InstallResult installResult) {
+        // helm returns the manifest of the release it installed, only older results need to look up the release
+        var manifest = Objects.requireNonNullElseGet(installResult.manifest(), () -> fetchReleaseManifest(installResult));
+
+        for (var resource : ManifestScanner.scan(manifest)) {
+            var type = RESOURCE_TYPES.get(resource.apiVersion() + "/" + resource.kind());
+            if(type != null) {
+                include(
+                        type,
+                        com.contentgrid.junit.jupiter.k8s.resource.ResourceMatcher.named(resource.name())
+                                // The default namespace that objects without a namespace get installed into
+                                // is the namespace that the helm chart is installed in
+                                .inNamespace(
+                                        Objects.requireNonNullElse(resource.namespace(), installResult.namespace()))
+                );
+            }
+        }
+
+        return this;
+    }
+
+    @SneakyThrows(IOException.class)
+    private String fetchReleaseManifest(InstallResult installResult) {
         var releaseRawData = client.secrets().inNamespace(installResult.namespace())
                 .withName("sh.helm.release.v1."+installResult.name()+".v"+installResult.version())
                 .require()
@@ -98,29 +149,9 @@ class ConfigurableResourceSetImpl implements ConfigurableResourceSet {
                 new ByteArrayInputStream(Base64.getDecoder().decode(releaseRawData))
         ));
 
-        var releaseJson = new ObjectMapper().readTree(releaseJsonData);
-
-        String yamlManifest = releaseJson.path("manifest").asText();
-
-        List<? extends HasMetadata> resources = client.getKubernetesSerialization().unmarshal(yamlManifest);
-
-        for (var resource : resources) {
-            if(RESOURCE_ACCESSORS.containsKey(resource.getClass())) {
-                include(
-                        resource.getClass(),
-                        com.contentgrid.junit.jupiter.k8s.resource.ResourceMatcher.named(resource.getMetadata().getName())
-                                // The default namespace that objects without a namespace get installed into
-                                // is the namespace that the helm chart is installed in
-                                .inNamespace(
-                                        Objects.requireNonNullElse(resource.getMetadata().getNamespace(), installResult.namespace()))
-                );
-            }
-        }
-
-        return this;
+        return new ObjectMapper().readTree(releaseJsonData).path("manifest").asText();
     }
 
-
     @Override
     public <T extends HasMetadata> ConfigurableResourceSet exclude(
             @NonNull Class<T> clazz,
@@ -130,19 +161,39 @@ class ConfigurableResourceSetImpl implements ConfigurableResourceSet {
         return this;
     }
 
-    @Override
-    public Stream<? extends AwaitableResource> stream() {
+    private void startInformers() {
         // Start all informers in parallel and wait for them to be running
         CompletableFuture.allOf(matchableResources.values().stream()
                         .map(MatchableResource::start)
                         .map(CompletionStage::toCompletableFuture)
                         .toArray(CompletableFuture[]::new))
                 .join();
+    }
+
+    @Override
+    public Stream<? extends AwaitableResource> stream() {
+        startInformers();
 
         return matchableResources.values()
                 .stream()
                 .flatMap(MatchableResource::matchingResources)
-                .map(resource -> awaitableResourceFactory.instantiate(client, resource));
+                .map(resource -> resourceFactory.instantiate(client, resource));
+    }
+
+    @Override
+    public Subscription subscribe(@NonNull ResourceSetListener listener) {
+        var subscription = new SubscriptionImpl(listener);
+        subscriptions.add(subscription);
+        matchableResources.values().forEach(subscription::attach);
+        startInformers();
+        return subscription;
+    }
+
+    @Override
+    public Subscription subscribeOwnedPods(@NonNull ResourceSetListener listener) {
+        var subscription = new OwnedPodSubscription(listener);
+        subscription.ownerSubscription = subscribe(subscription);
+        return subscription;
     }
 
     @Override
@@ -151,5 +202,151 @@ class ConfigurableResourceSetImpl implements ConfigurableResourceSet {
         for (var matchableResource : matchableResources.values()) {
             matchableResource.close();
         }
+        resourceIndex.close();
+    }
+
+    /**
+     * Forwards informer events of all resource types to a {@link ResourceSetListener}
+     */
+    @RequiredArgsConstructor
+    private class SubscriptionImpl implements Subscription {
+        private final ResourceSetListener listener;
+        private final Map<MatchableResource<HasMetadata>, ResourceEventHandler<HasMetadata>> handlers = new ConcurrentHashMap<>();
+
+        void attach(MatchableResource<HasMetadata> matchableResource) {
+            handlers.computeIfAbsent(matchableResource, resource -> resource.addEventHandler(new ResourceEventHandler<>() {
+                @Override
+                public void onAdd(HasMetadata obj) {
+                    listener.resourceChanged(resourceFactory.instantiate(client, obj));
+                }
+
+                @Override
+                public void onUpdate(HasMetadata oldObj, HasMetadata newObj) {
+                    listener.resourceChanged(resourceFactory.instantiate(client, newObj));
+                }
+
+                @Override
+                public void onDelete(HasMetadata obj, boolean deletedFinalStateUnknown) {
+                    listener.resourceRemoved(resourceFactory.instantiate(client, obj));
+                }
+            }));
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+            handlers.forEach(MatchableResource::removeEventHandler);
+            handlers.clear();
+        }
+    }
+
+    /**
+     * Forwards informer events of the pods that are owned by matching resources to a {@link ResourceSetListener}.
+     * <p>
+     * The pods and ReplicaSets of a namespace are watched from the {@link ResourceIndex} as soon as a matching resource
+     * is seen in it. All lookups are in-memory, so nothing blocks the informer threads.
+     */
+    @RequiredArgsConstructor
+    private class OwnedPodSubscription implements Subscription, ResourceSetListener {
+        private final ResourceSetListener listener;
+        private final Set<String> ownerUids = ConcurrentHashMap.newKeySet();
+        private final Map<String, PodWatch> podWatches = new ConcurrentHashMap<>();
+        private volatile Subscription ownerSubscription;
+        private volatile boolean closed = false;
+
+        private record PodWatch(SharedIndexInformer<Pod> pods, SharedIndexInformer<ReplicaSet> replicaSets,
+                                ResourceEventHandler<Pod> handler) {
+
+        }
+
+        @Override
+        public void resourceChanged(AwaitableResource resource) {
+            var owner = resource.getObjectReference();
+            ownerUids.add(owner.getUid());
+            if (closed || owner.getNamespace() == null) {
+                return;
+            }
+
+            var watch = podWatches.computeIfAbsent(owner.getNamespace(), this::watchPods);
+            if (watch == null) {
+                return;
+            }
+
+            // Pods that were seen before their owner was
+            Stream.concat(
+                            Stream.of(owner.getUid()),
+                            watch.replicaSets().getIndexer().byIndex(ResourceIndex.OWNER_UID_INDEX, owner.getUid())
+                                    .stream()
+                                    .map(replicaSet -> replicaSet.getMetadata().getUid())
+                    )
+                    .flatMap(uid -> watch.pods().getIndexer().byIndex(ResourceIndex.OWNER_UID_INDEX, uid).stream())
+                    .forEach(pod -> listener.resourceChanged(resourceFactory.instantiate(client, pod)));
+        }
+
+        @Override
+        public void resourceRemoved(AwaitableResource resource) {
+            // The pods of the resource are removed as well, which is forwarded by the pod watch
+        }
+
+        private PodWatch watchPods(String namespace) {
+            var pods = resourceIndex.childInformer(Pod.class, namespace, client.pods());
+            var replicaSets = resourceIndex.childInformer(ReplicaSet.class, namespace, client.apps().replicaSets());
+            if (pods.isEmpty() || replicaSets.isEmpty()) {
+                // The resource set is closed
+                return null;
+            }
+
+            var handler = new ResourceEventHandler<Pod>() {
+                @Override
+                public void onAdd(Pod obj) {
+                    if (isOwned(obj, replicaSets.get())) {
+                        listener.resourceChanged(resourceFactory.instantiate(client, obj));
+                    }
+                }
+
+                @Override
+                public void onUpdate(Pod oldObj, Pod newObj) {
+                    onAdd(newObj);
+                }
+
+                @Override
+                public void onDelete(Pod obj, boolean deletedFinalStateUnknown) {
+                    if (isOwned(obj, replicaSets.get())) {
+                        listener.resourceRemoved(resourceFactory.instantiate(client, obj));
+                    }
+                }
+            };
+            pods.get().addEventHandler(handler);
+            return new PodWatch(pods.get(), replicaSets.get(), handler);
+        }
+
+        private boolean isOwned(Pod pod, SharedIndexInformer<ReplicaSet> replicaSets) {
+            return pod.getMetadata().getOwnerReferences()
+                    .stream()
+                    .anyMatch(owner -> ownerUids.contains(owner.getUid())
+                            || isOwnedReplicaSet(pod.getMetadata().getNamespace(), owner, replicaSets));
+        }
+
+        private boolean isOwnedReplicaSet(String namespace, OwnerReference reference, SharedIndexInformer<ReplicaSet> replicaSets) {
+            if (!Objects.equals(reference.getKind(), "ReplicaSet")) {
+                return false;
+            }
+            var replicaSet = replicaSets.getStore().getByKey(namespace + "/" + reference.getName());
+            return replicaSet != null
+                    && Objects.equals(replicaSet.getMetadata().getUid(), reference.getUid())
+                    && replicaSet.getMetadata().getOwnerReferences()
+                    .stream()
+                    .anyMatch(owner -> ownerUids.contains(owner.getUid()));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            if (ownerSubscription != null) {
+                ownerSubscription.close();
+            }
+            podWatches.values().forEach(watch -> watch.pods().removeEventHandler(watch.handler()));
+            podWatches.clear();
+        }
     }
 }
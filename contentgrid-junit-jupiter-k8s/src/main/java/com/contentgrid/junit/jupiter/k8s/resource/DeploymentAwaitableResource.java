@@ -4,8 +4,10 @@ import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.Listable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.readiness.Readiness;
+import java.util.Map;
 import lombok.NonNull;
 
 class DeploymentAwaitableResource extends AbstractAwaitableResourceWithChildren<Deployment, ReplicaSet> {
@@ -21,11 +23,18 @@ class DeploymentAwaitableResource extends AbstractAwaitableResourceWithChildren<
 
 
     @Override
-    protected Listable<? extends KubernetesResourceList<ReplicaSet>> createChildResourcesFilter() {
-        var selector = item.getSpec().getSelector().getMatchLabels();
-        return client.apps().replicaSets()
-                .inNamespace(item.getMetadata().getNamespace())
-                .withLabels(selector);
+    protected Class<ReplicaSet> getChildType() {
+        return ReplicaSet.class;
+    }
+
+    @Override
+    protected MixedOperation<ReplicaSet, ? extends KubernetesResourceList<ReplicaSet>, ? extends Resource<ReplicaSet>> createChildResourcesAccessor() {
+        return client.apps().replicaSets();
+    }
+
+    @Override
+    protected Map<String, String> getChildSelector() {
+        return item.getSpec().getSelector().getMatchLabels();
     }
 
 }
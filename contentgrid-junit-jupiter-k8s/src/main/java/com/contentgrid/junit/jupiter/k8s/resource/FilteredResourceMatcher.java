@@ -0,0 +1,31 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A {@link ResourceMatcher} that also describes which informer filters select the resources it matches
+ */
+@RequiredArgsConstructor
+class FilteredResourceMatcher<T extends HasMetadata> implements ResourceMatcher<T>, InformerFilterable {
+
+    @NonNull
+    private final Predicate<T> predicate;
+
+    @NonNull
+    private final Set<InformerFilter> filters;
+
+    @Override
+    public boolean test(T t) {
+        return predicate.test(t);
+    }
+
+    @Override
+    public Optional<Set<InformerFilter>> informerFilters() {
+        return Optional.of(filters);
+    }
+}
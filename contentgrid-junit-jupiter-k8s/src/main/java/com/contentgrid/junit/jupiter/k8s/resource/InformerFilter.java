@@ -0,0 +1,65 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+
+/**
+ * Server-side filter for an informer, so only resources that can match are transferred and cached
+ *
+ * @param labels Label selector; all labels must match
+ * @param name Name of the resource, used as {@code metadata.name} field selector
+ */
+record InformerFilter(Map<String, String> labels, String name) {
+
+    private static final String NAME_FIELD = "metadata.name";
+
+    static InformerFilter labels(@NonNull Map<String, String> labels) {
+        return new InformerFilter(new TreeMap<>(labels), null);
+    }
+
+    static InformerFilter name(@NonNull String name) {
+        return new InformerFilter(null, name);
+    }
+
+    /**
+     * @return Whether the filter selects a single resource by name
+     */
+    boolean isName() {
+        return name != null;
+    }
+
+    /**
+     * @param key The {@link #key()} of a filter
+     * @return Whether the filter selects a single resource by name
+     */
+    static boolean isNameKey(String key) {
+        return key.startsWith(NAME_FIELD + "=");
+    }
+
+    /**
+     * @return Canonical representation of the filter, used to share informers with the same filter
+     */
+    String key() {
+        if (name != null) {
+            return NAME_FIELD + "=" + name;
+        }
+        return labels.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue())
+                .collect(Collectors.joining(",", "labels:", ""));
+    }
+
+    /**
+     * Create a (not yet running) informer, with the filter applied
+     */
+    <T extends HasMetadata> SharedIndexInformer<T> createInformer(FilterWatchListDeletable<T, ?, ?> operation) {
+        if (name != null) {
+            return operation.withField(NAME_FIELD, name).runnableInformer(0);
+        }
+        return operation.withLabels(labels).runnableInformer(0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A {@link ResourceMatcher} that can be (partially) evaluated by the API server
+ */
+interface InformerFilterable {
+
+    /**
+     * @return Filters of which the union contains all resources that match; or empty when the matcher can not be
+     * expressed as informer filters
+     */
+    Optional<Set<InformerFilter>> informerFilters();
+}
@@ -0,0 +1,35 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.LogLine;
+import java.time.Instant;
+
+/**
+ * Window of logs to read, which is passed on to the kubernetes API server so only the requested logs are transferred.
+ *
+ * @param since Only logs after this time; {@code null} for all logs
+ * @param tailLines Only this many lines from the end of each container log; {@code null} for all lines
+ * @param limitBytes Only this many bytes of each container log; {@code null} for no limit
+ */
+public record LogWindow(Instant since, Integer tailLines, Integer limitBytes) {
+
+    public static final LogWindow UNBOUNDED = new LogWindow(null, null, null);
+
+    public LogWindow withSince(Instant since) {
+        return new LogWindow(since, tailLines, limitBytes);
+    }
+
+    public LogWindow withTailLines(Integer tailLines) {
+        return new LogWindow(since, tailLines, limitBytes);
+    }
+
+    public LogWindow withLimitBytes(Integer limitBytes) {
+        return new LogWindow(since, tailLines, limitBytes);
+    }
+
+    /**
+     * Client-side check for the time window; the API server only filters with a precision of seconds
+     */
+    public boolean includes(LogLine line) {
+        return since == null || line.timestamp().isAfter(since);
+    }
+}
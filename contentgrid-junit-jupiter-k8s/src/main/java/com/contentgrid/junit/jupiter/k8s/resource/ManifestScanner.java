@@ -0,0 +1,98 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Scans multi-document YAML manifests for the identity of the resources in them.
+ * <p>
+ * Only {@code apiVersion}, {@code kind} and {@code metadata.name}/{@code metadata.namespace} are read from the token
+ * stream; everything else (specs, templates, data) is skipped without being materialized.
+ */
+@UtilityClass
+class ManifestScanner {
+
+    private final YAMLFactory YAML_FACTORY = new YAMLFactory();
+
+    /**
+     * The identity of a resource in a manifest
+     *
+     * @param namespace the namespace of the resource, or {@code null} when the manifest does not specify one
+     */
+    record ResourceIdentity(String apiVersion, String kind, String name, String namespace) {
+
+    }
+
+    /**
+     * @param manifests multi-document YAML, as rendered by helm
+     * @return the identities of all resources in the manifests, in order
+     */
+    List<ResourceIdentity> scan(String manifests) {
+        var resources = new ArrayList<ResourceIdentity>();
+        try (var parser = YAML_FACTORY.createParser(manifests)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    // empty documents, or documents that are not a resource
+                    parser.skipChildren();
+                    continue;
+                }
+                var resource = scanDocument(parser);
+                if (resource.kind() != null && resource.name() != null) {
+                    resources.add(resource);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan manifests", e);
+        }
+        return resources;
+    }
+
+    private ResourceIdentity scanDocument(JsonParser parser) throws IOException {
+        String apiVersion = null;
+        String kind = null;
+        String name = null;
+        String namespace = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+            switch (field) {
+                case "apiVersion" -> apiVersion = textValue(parser, value);
+                case "kind" -> kind = textValue(parser, value);
+                case "metadata" -> {
+                    if (value != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        break;
+                    }
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        var metadataField = parser.currentName();
+                        var metadataValue = parser.nextToken();
+                        switch (metadataField) {
+                            case "name" -> name = textValue(parser, metadataValue);
+                            case "namespace" -> namespace = textValue(parser, metadataValue);
+                            default -> parser.skipChildren();
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new ResourceIdentity(apiVersion, kind, name, namespace);
+    }
+
+    private String textValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token.isScalarValue()) {
+            return token == JsonToken.VALUE_NULL ? null : parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
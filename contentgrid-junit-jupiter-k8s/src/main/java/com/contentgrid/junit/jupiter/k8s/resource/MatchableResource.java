@@ -2,15 +2,20 @@ package com.contentgrid.junit.jupiter.k8s.resource;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.dsl.MixedOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.ResourceEventHandler;
 import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -22,19 +27,103 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 class MatchableResource<T extends HasMetadata> implements AutoCloseable {
 
+    private static final String UNFILTERED = "";
+
+    /**
+     * Maximum number of filtered informers per namespace, before falling back to a single namespace-wide informer
+     */
+    private static final int MAX_FILTERED_INFORMERS = 16;
+
+    /**
+     * Maximum number of name-filtered informers per namespace. Every named resource would need its own watch, so
+     * several names in a namespace (e.g. all resources of a helm release) are watched with one namespace-wide informer.
+     */
+    private static final int MAX_NAME_FILTERS = 1;
+
+    @NonNull
+    private final KubernetesClient client;
+    @NonNull
+    private final Class<T> type;
     @NonNull
     private final MixedOperation<T, ? extends KubernetesResourceList<T>, ? extends Resource<T>> resourceAccessor;
-    private final Set<ResourceMatcher<? super T>> matchers = new HashSet<>();
-    private final Set<ResourceMatcher<? super T>> exclusions = new HashSet<>();
-    private final Map<String, SharedIndexInformer<T>> informers = new HashMap<>();
+    @NonNull
+    private final SharedInformerRegistry informerRegistry;
+    // Concurrent collections: matchers are evaluated on informer threads when event handlers are registered
+    private final Set<ResourceMatcher<? super T>> matchers = ConcurrentHashMap.newKeySet();
+    private final Set<ResourceMatcher<? super T>> exclusions = ConcurrentHashMap.newKeySet();
+    // Keyed by namespace, and the informer filter within that namespace (UNFILTERED for a namespace-wide informer)
+    private final Map<String, Map<String, SharedIndexInformer<T>>> informers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, SharedInformerRegistry.Lease<T>>> leases = new ConcurrentHashMap<>();
+    private final Set<ResourceEventHandler<T>> eventHandlers = ConcurrentHashMap.newKeySet();
 
     /**
      * Register an additional matcher
+     * <p>
+     * When the matcher can be expressed as a label selector, or selects a single name, only the matching resources
+     * are watched. Otherwise, when more than one name is selected, or when there are too many filtered informers in
+     * the namespace, all resources in the namespace are watched.
      */
-    public void addMatcher(ResourceMatcher.NamespacedResourceMatcher<? super T> matcher) {
+    public synchronized void addMatcher(ResourceMatcher.NamespacedResourceMatcher<? super T> matcher) {
         matchers.add(matcher);
-        informers.computeIfAbsent(matcher.getNamespace(),
-                ns -> resourceAccessor.inNamespace(ns).runnableInformer(0));
+        var namespace = matcher.getNamespace();
+        var namespaceInformers = informers.computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>());
+        if (namespaceInformers.containsKey(UNFILTERED)) {
+            // Already watching everything in the namespace
+            return;
+        }
+
+        var filters = matcher instanceof InformerFilterable filterable
+                ? filterable.informerFilters()
+                : Optional.<Set<InformerFilter>>empty();
+
+        var newFilters = filters.stream()
+                .flatMap(Set::stream)
+                .filter(filter -> !namespaceInformers.containsKey(filter.key()))
+                .toList();
+
+        var nameFilters = namespaceInformers.keySet().stream().filter(InformerFilter::isNameKey).count()
+                + newFilters.stream().filter(InformerFilter::isName).count();
+
+        if (filters.isEmpty() || nameFilters > MAX_NAME_FILTERS
+                || namespaceInformers.size() + newFilters.size() > MAX_FILTERED_INFORMERS) {
+            // Register the namespace-wide informer before releasing the filtered ones, so event handlers see no gaps
+            addInformer(namespace, UNFILTERED, () -> resourceAccessor.inNamespace(namespace).runnableInformer(0));
+            for (var key : List.copyOf(namespaceInformers.keySet())) {
+                if (!UNFILTERED.equals(key)) {
+                    removeInformer(namespace, key);
+                }
+            }
+            return;
+        }
+
+        for (var filter : newFilters) {
+            addInformer(namespace, filter.key(), () -> filter.createInformer(resourceAccessor.inNamespace(namespace)));
+        }
+    }
+
+    private void addInformer(String namespace, String filterKey, Supplier<SharedIndexInformer<T>> informerFactory) {
+        var lease = informerRegistry.acquire(client, type, namespace, filterKey, informerFactory);
+        leases.computeIfAbsent(namespace, ns -> new ConcurrentHashMap<>()).put(filterKey, lease);
+        var informer = lease.informer();
+        eventHandlers.forEach(informer::addEventHandler);
+        informers.get(namespace).put(filterKey, informer);
+    }
+
+    private void removeInformer(String namespace, String filterKey) {
+        var informer = informers.get(namespace).remove(filterKey);
+        eventHandlers.forEach(informer::removeEventHandler);
+        leases.get(namespace).remove(filterKey).close();
+    }
+
+    /**
+     * @return The filters of the informers in a namespace, {@code ""} for a namespace-wide informer
+     */
+    Set<String> informerFilters(String namespace) {
+        return Set.copyOf(informers.getOrDefault(namespace, Map.of()).keySet());
+    }
+
+    private Stream<SharedIndexInformer<T>> allInformers() {
+        return informers.values().stream().flatMap(namespaceInformers -> namespaceInformers.values().stream());
     }
 
     /**
@@ -50,8 +139,7 @@ class MatchableResource<T extends HasMetadata> implements AutoCloseable {
      */
     public CompletionStage<Void> start() {
         return CompletableFuture.allOf(
-                informers.values()
-                        .stream()
+                allInformers()
                         .map(SharedIndexInformer::start)
                         .map(CompletionStage::toCompletableFuture)
                         .toArray(CompletableFuture[]::new)
@@ -62,19 +150,73 @@ class MatchableResource<T extends HasMetadata> implements AutoCloseable {
      * @return A stream of all matching resources
      */
     public Stream<T> matchingResources() {
-        return informers.values()
-                .stream()
+        // Filtered informers can overlap (e.g. different label selectors), so deduplicate on uid
+        var seen = new HashSet<String>();
+        return allInformers()
                 .flatMap(informer -> informer.getStore().list().stream())
-                .filter(item -> exclusions.stream().noneMatch(matcher -> matcher.test(item)))
-                .filter(item -> matchers.stream().anyMatch(matcher -> matcher.test(item)));
+                .filter(this::matches)
+                .filter(item -> seen.add(item.getMetadata().getUid()));
+    }
+
+    private boolean matches(T item) {
+        return exclusions.stream().noneMatch(matcher -> matcher.test(item))
+                && matchers.stream().anyMatch(matcher -> matcher.test(item));
     }
 
     /**
-     * Shuts down all informers
+     * Registers an event handler on all current and future informers, which is only notified about matching resources.
+     * <p>
+     * Updates that make a resource no longer match are reported as deletions.
+     *
+     * @return The registered handler, to be passed to {@link #removeEventHandler(ResourceEventHandler)}
      */
-    public void close() {
-        for (var informer : informers.values()) {
-            informer.close();
-        }
+    public ResourceEventHandler<T> addEventHandler(ResourceEventHandler<T> handler) {
+        var matchingHandler = new ResourceEventHandler<T>() {
+            @Override
+            public void onAdd(T obj) {
+                if (matches(obj)) {
+                    handler.onAdd(obj);
+                }
+            }
+
+            @Override
+            public void onUpdate(T oldObj, T newObj) {
+                if (matches(newObj)) {
+                    handler.onUpdate(oldObj, newObj);
+                } else if (matches(oldObj)) {
+                    handler.onDelete(oldObj, false);
+                }
+            }
+
+            @Override
+            public void onDelete(T obj, boolean deletedFinalStateUnknown) {
+                if (matches(obj)) {
+                    handler.onDelete(obj, deletedFinalStateUnknown);
+                }
+            }
+        };
+        eventHandlers.add(matchingHandler);
+        allInformers().forEach(informer -> informer.addEventHandler(matchingHandler));
+        return matchingHandler;
+    }
+
+    /**
+     * Removes an event handler that was registered with {@link #addEventHandler(ResourceEventHandler)}
+     */
+    public void removeEventHandler(ResourceEventHandler<T> handler) {
+        eventHandlers.remove(handler);
+        allInformers().forEach(informer -> informer.removeEventHandler(handler));
+    }
+
+    /**
+     * Releases all informers. Informers are shared, so they are only shut down when no other resource set uses them.
+     */
+    public synchronized void close() {
+        allInformers().forEach(informer -> eventHandlers.forEach(informer::removeEventHandler));
+        eventHandlers.clear();
+        informers.clear();
+
+        leases.values().forEach(namespaceLeases -> namespaceLeases.values().forEach(SharedInformerRegistry.Lease::close));
+        leases.clear();
     }
 }
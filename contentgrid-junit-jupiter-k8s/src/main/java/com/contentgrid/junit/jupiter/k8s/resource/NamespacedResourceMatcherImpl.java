@@ -2,12 +2,15 @@ package com.contentgrid.junit.jupiter.k8s.resource;
 
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
-class NamespacedResourceMatcherImpl<T extends HasMetadata> implements ResourceMatcher.NamespacedResourceMatcher<T> {
+class NamespacedResourceMatcherImpl<T extends HasMetadata> implements ResourceMatcher.NamespacedResourceMatcher<T>,
+        InformerFilterable {
     @NonNull
     private final ResourceMatcher<T> delegate;
     @Getter
@@ -19,6 +22,14 @@ class NamespacedResourceMatcherImpl<T extends HasMetadata> implements ResourceMa
         return Objects.equals(namespace, t.getMetadata().getNamespace()) && delegate.test(t);
     }
 
+    @Override
+    public Optional<Set<InformerFilter>> informerFilters() {
+        if (delegate instanceof InformerFilterable filterable) {
+            return filterable.informerFilters();
+        }
+        return Optional.empty();
+    }
+
     @Override
     public ResourceMatcher<T> inNamespace(@NonNull String namespace) {
         return new NamespacedResourceMatcherImpl<>(delegate, namespace);
@@ -2,22 +2,35 @@ package com.contentgrid.junit.jupiter.k8s.resource;
 
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodStatus;
 import io.fabric8.kubernetes.client.KubernetesClient;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.dsl.BytesLimitTerminateTimeTailPrettyLoggable;
 import io.fabric8.kubernetes.client.dsl.PodResource;
+import io.fabric8.kubernetes.client.dsl.PrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TerminateTimeTailPrettyLoggable;
+import io.fabric8.kubernetes.client.dsl.TimeTailPrettyLoggable;
 import io.fabric8.kubernetes.client.readiness.Readiness;
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import lombok.NonNull;
@@ -34,16 +47,61 @@ class PodAwaitableResource extends AbstractAwaitableResource<Pod> {
 
     @Override
     public Stream<LogLine> logs() {
+        return logSources().flatMap(LogSource::read);
+    }
+
+    @Override
+    public Stream<LogSource> logSources(LogWindow window) {
         var resource = client.pods().inNamespace(item.getMetadata().getNamespace()).resource(item);
-        var containers = item.getSpec().getContainers()
+        return item.getSpec().getContainers()
                 .stream()
                 .map(Container::getName)
-                .toList();
-        return containers.stream()
-                .flatMap(containerName -> readContainer(resource, containerName));
+                .<LogSource>map(containerName -> () -> readContainer(resource, containerName, window));
+    }
+
+    @Override
+    public Stream<FollowableLog> followableLogs() {
+        var resource = client.pods().inNamespace(item.getMetadata().getNamespace()).resource(item);
+        return Optional.ofNullable(item.getStatus())
+                .map(PodStatus::getContainerStatuses)
+                .orElse(List.of())
+                .stream()
+                // Logs of containers that are still waiting can not be followed yet
+                .filter(status -> status.getState() != null && status.getState().getWaiting() == null)
+                .map(status -> new ContainerLog(resource, status.getName(),
+                        "%s/%s/%d".formatted(item.getMetadata().getUid(), status.getName(), status.getRestartCount())));
     }
 
-    private Stream<LogLine> readContainer(PodResource resource, String containerName) {
+    @RequiredArgsConstructor
+    private class ContainerLog implements FollowableLog {
+        private final PodResource podResource;
+        private final String container;
+        private final String id;
+
+        @Override
+        public String id() {
+            return id;
+        }
+
+        @Override
+        public String container() {
+            return container;
+        }
+
+        @Override
+        public AwaitableResource resource() {
+            return PodAwaitableResource.this;
+        }
+
+        @Override
+        public Closeable follow(OutputStream output) {
+            return podResource.inContainer(container)
+                    .usingTimestamps()
+                    .watchLog(output);
+        }
+    }
+
+    private Stream<LogLine> readContainer(PodResource resource, String containerName, LogWindow window) {
         Deque<Reader> logReaders = new LinkedList<>();
 
         // The order here is important: first try to grab the logs of the currently running container
@@ -52,27 +110,54 @@ class PodAwaitableResource extends AbstractAwaitableResource<Pod> {
         // To maintain logical ordering of logs, first list those of the terminated container, then of the currently running one
 
         try {
-            logReaders.add(resource.inContainer(containerName)
-                    .usingTimestamps()
-                    .withPrettyOutput()
-                    .getLogReader()
-            );
+            logReaders.add(openLogReader(resource, containerName, false, window));
         } catch(KubernetesClientException exception) {
             logReadException(containerName, exception);
         }
 
         try {
-            logReaders.addFirst(
-                    resource.inContainer(containerName)
-                            .usingTimestamps()
-                            .terminated()
-                            .withPrettyOutput()
-                            .getLogReader()
-            );
+            logReaders.addFirst(openLogReader(resource, containerName, true, window));
         } catch(KubernetesClientException exception) {
             logReadException(containerName, exception);
         }
-        return logReaders.stream().flatMap(logReader -> readLogs(containerName, logReader));
+        var lines = logReaders.stream()
+                .flatMap(logReader -> readLogs(containerName, logReader))
+                .filter(window::includes);
+
+        // Both reads are limited by the API server, but together they can still exceed the window
+        return limitBytes(tailLines(lines, window.tailLines()), window.limitBytes());
+    }
+
+    private static Stream<LogLine> tailLines(Stream<LogLine> lines, Integer tailLines) {
+        if (tailLines == null) {
+            return lines;
+        }
+        Deque<LogLine> tail = new ArrayDeque<>();
+        lines.forEachOrdered(line -> {
+            tail.addLast(line);
+            if (tail.size() > tailLines) {
+                tail.removeFirst();
+            }
+        });
+        return tail.stream();
+    }
+
+    private static Stream<LogLine> limitBytes(Stream<LogLine> lines, Integer limitBytes) {
+        if (limitBytes == null) {
+            return lines;
+        }
+        var remaining = new AtomicLong(limitBytes);
+        // Only lines that fit entirely within the limit are kept
+        return lines.takeWhile(line -> remaining.addAndGet(-(line.line().getBytes(StandardCharsets.UTF_8).length + 1)) >= 0);
+    }
+
+    private static Reader openLogReader(PodResource resource, String containerName, boolean terminated, LogWindow window) {
+        BytesLimitTerminateTimeTailPrettyLoggable loggable = resource.inContainer(containerName).usingTimestamps();
+        TerminateTimeTailPrettyLoggable limited = window.limitBytes() == null ? loggable : loggable.limitBytes(window.limitBytes());
+        TimeTailPrettyLoggable container = terminated ? limited.terminated() : limited;
+        TailPrettyLoggable since = window.since() == null ? container : container.sinceTime(window.since().toString());
+        PrettyLoggable tailed = window.tailLines() == null ? since : since.tailingLines(window.tailLines());
+        return tailed.withPrettyOutput().getLogReader();
     }
 
     private void logReadException(String containerName, KubernetesClientException exception) {
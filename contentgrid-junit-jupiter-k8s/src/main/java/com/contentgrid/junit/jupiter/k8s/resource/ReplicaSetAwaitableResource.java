@@ -4,8 +4,10 @@ import io.fabric8.kubernetes.api.model.KubernetesResourceList;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.apps.ReplicaSet;
 import io.fabric8.kubernetes.client.KubernetesClient;
-import io.fabric8.kubernetes.client.dsl.Listable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
 import io.fabric8.kubernetes.client.readiness.Readiness;
+import java.util.Map;
 import lombok.NonNull;
 
 class ReplicaSetAwaitableResource extends AbstractAwaitableResourceWithChildren<ReplicaSet, Pod> {
@@ -16,10 +18,18 @@ class ReplicaSetAwaitableResource extends AbstractAwaitableResourceWithChildren<
     }
 
     @Override
-    protected Listable<? extends KubernetesResourceList<? extends Pod>> createChildResourcesFilter() {
-        return client.pods()
-                .inNamespace(item.getMetadata().getNamespace())
-                .withLabels(item.getSpec().getSelector().getMatchLabels());
+    protected Class<Pod> getChildType() {
+        return Pod.class;
+    }
+
+    @Override
+    protected MixedOperation<Pod, ? extends KubernetesResourceList<Pod>, ? extends Resource<Pod>> createChildResourcesAccessor() {
+        return client.pods();
+    }
+
+    @Override
+    protected Map<String, String> getChildSelector() {
+        return item.getSpec().getSelector().getMatchLabels();
     }
 
     @Override
@@ -0,0 +1,162 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.api.model.OwnerReference;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.Resource;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Looks up resources related to a resource from shared, indexed informers:
+ * <ul>
+ *     <li>child resources, by the uid of their owner</li>
+ *     <li>events, by the uid of their involved object</li>
+ * </ul>
+ * <p>
+ * Walking a Deployment &rarr; ReplicaSet &rarr; Pod tree and collecting its events are index lookups instead of a
+ * list call per resource. The informers are acquired lazily, per type and namespace, and released when the index is
+ * closed.
+ */
+@RequiredArgsConstructor
+class ResourceIndex implements AutoCloseable {
+
+    static final String OWNER_UID_INDEX = "ownerUid";
+
+    static final String INVOLVED_OBJECT_UID_INDEX = "involvedObjectUid";
+
+    @NonNull
+    private final KubernetesClient client;
+    @NonNull
+    private final SharedInformerRegistry informerRegistry;
+
+    private final Map<IndexKey, SharedInformerRegistry.Lease<?>> leases = new HashMap<>();
+    private boolean closed = false;
+
+    private record IndexKey(Class<?> type, String namespace) {
+
+    }
+
+    /**
+     * Looks up the children of a resource
+     *
+     * @param owner The owner of the child resources
+     * @param type The type of the child resources
+     * @param accessor Accessor for the child resources
+     * @return The child resources; or empty when the index is closed
+     */
+    <C extends HasMetadata> Optional<List<C>> childrenOf(
+            @NonNull HasMetadata owner,
+            @NonNull Class<C> type,
+            @NonNull MixedOperation<C, ? extends KubernetesResourceList<C>, ? extends Resource<C>> accessor
+    ) {
+        return lookup(owner, type, accessor, OWNER_UID_INDEX, ResourceIndex::ownerUids);
+    }
+
+    /**
+     * Acquires the informer that child resources are looked up from, without waiting for it to be synced. Handlers
+     * that are added to it must be removed before the index is closed.
+     *
+     * @param type The type of the child resources
+     * @param namespace The namespace of the child resources
+     * @param accessor Accessor for the child resources
+     * @return The informer, indexed by the uid of the owners; or empty when the index is closed
+     */
+    <C extends HasMetadata> Optional<SharedIndexInformer<C>> childInformer(
+            @NonNull Class<C> type,
+            @NonNull String namespace,
+            @NonNull MixedOperation<C, ? extends KubernetesResourceList<C>, ? extends Resource<C>> accessor
+    ) {
+        return informer(namespace, type, accessor, OWNER_UID_INDEX, ResourceIndex::ownerUids);
+    }
+
+    private static List<String> ownerUids(HasMetadata child) {
+        return child.getMetadata()
+                .getOwnerReferences()
+                .stream()
+                .map(OwnerReference::getUid)
+                .toList();
+    }
+
+    /**
+     * Looks up the events of a resource
+     *
+     * @param involvedObject The resource the events are about
+     * @return The events; or empty when the index is closed
+     */
+    Optional<List<Event>> eventsOf(@NonNull HasMetadata involvedObject) {
+        return lookup(involvedObject, Event.class, client.v1().events(), INVOLVED_OBJECT_UID_INDEX, event ->
+                Optional.ofNullable(event.getInvolvedObject())
+                        .map(ObjectReference::getUid)
+                        .map(List::of)
+                        .orElse(List.of()));
+    }
+
+    private <C extends HasMetadata> Optional<List<C>> lookup(
+            HasMetadata resource,
+            Class<C> type,
+            MixedOperation<C, ? extends KubernetesResourceList<C>, ? extends Resource<C>> accessor,
+            String indexName,
+            Function<C, List<String>> indexFunction
+    ) {
+        var namespace = resource.getMetadata().getNamespace();
+        if (namespace == null) {
+            // Only namespaced resources are indexed
+            return Optional.empty();
+        }
+
+        return informer(namespace, type, accessor, indexName, indexFunction).map(informer -> {
+            informer.start().toCompletableFuture().join();
+            return informer.byIndex(indexName, resource.getMetadata().getUid());
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C extends HasMetadata> Optional<SharedIndexInformer<C>> informer(
+            String namespace,
+            Class<C> type,
+            MixedOperation<C, ? extends KubernetesResourceList<C>, ? extends Resource<C>> accessor,
+            String indexName,
+            Function<C, List<String>> indexFunction
+    ) {
+        SharedInformerRegistry.Lease<C> lease;
+        synchronized (leases) {
+            if (closed) {
+                return Optional.empty();
+            }
+            lease = (SharedInformerRegistry.Lease<C>) leases.computeIfAbsent(new IndexKey(type, namespace),
+                    // The filter key keeps indexed informers apart from informers that were created without the index
+                    key -> informerRegistry.acquire(client, type, namespace, "index:" + indexName, () -> {
+                        var informer = accessor.inNamespace(namespace).runnableInformer(0);
+                        informer.addIndexers(Map.of(indexName, indexFunction));
+                        return informer;
+                    }));
+        }
+
+        var informer = lease.informer();
+        informer.start();
+        return Optional.of(informer);
+    }
+
+    /**
+     * Releases all informers. Later lookups return empty.
+     */
+    @Override
+    public void close() {
+        synchronized (leases) {
+            closed = true;
+            leases.values().forEach(SharedInformerRegistry.Lease::close);
+            leases.clear();
+        }
+    }
+}
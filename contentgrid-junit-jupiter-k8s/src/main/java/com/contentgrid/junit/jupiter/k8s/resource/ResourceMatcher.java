@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 
 /**
@@ -19,8 +20,13 @@ public interface ResourceMatcher<T extends HasMetadata> extends Predicate<T> {
      * @param <T> The type of the resource
      */
     static <T extends HasMetadata> ResourceMatcher<T> labelled(@NonNull Map<String, String> labels) {
-        return o -> labels.entrySet().stream()
-                .allMatch(entry -> Objects.equals(o.getMetadata().getLabels().get(entry.getKey()), entry.getValue()));
+        if (labels.isEmpty()) {
+            // Without labels, everything matches; there is nothing to filter on
+            return o -> true;
+        }
+        return new FilteredResourceMatcher<>(o -> labels.entrySet().stream()
+                .allMatch(entry -> Objects.equals(o.getMetadata().getLabels().get(entry.getKey()), entry.getValue())),
+                Set.of(InformerFilter.labels(labels)));
     }
 
     /**
@@ -40,7 +46,8 @@ public interface ResourceMatcher<T extends HasMetadata> extends Predicate<T> {
      */
     static <T extends HasMetadata> ResourceMatcher<T> named(@NonNull String... names) {
         var nameSet = Set.of(names);
-        return o -> nameSet.contains(o.getMetadata().getName());
+        return new FilteredResourceMatcher<>(o -> nameSet.contains(o.getMetadata().getName()),
+                nameSet.stream().map(InformerFilter::name).collect(Collectors.toUnmodifiableSet()));
     }
 
     /**
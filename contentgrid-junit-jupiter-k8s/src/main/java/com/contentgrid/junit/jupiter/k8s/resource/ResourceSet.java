@@ -9,9 +9,47 @@ public interface ResourceSet extends AutoCloseable {
      */
     Stream<? extends AwaitableResource> stream();
 
+    /**
+     * Subscribe to changes of matching resources.
+     * <p>
+     * Resources that are already present are reported as changed once the informers are started.
+     * <p>
+     * Implementations that can not watch their resources do not support subscriptions.
+     *
+     * @param listener The listener to notify
+     * @return The subscription, which stops notifications when closed
+     * @throws UnsupportedOperationException when the resource set does not support subscriptions
+     */
+    default Subscription subscribe(ResourceSetListener listener) {
+        throw new UnsupportedOperationException("%s does not support subscriptions".formatted(getClass().getSimpleName()));
+    }
+
+    /**
+     * Subscribe to changes of the pods that are owned by matching resources, directly or through a ReplicaSet.
+     * <p>
+     * Unlike {@link #subscribe(ResourceSetListener)}, the listener is notified when a pod is recreated or one of its
+     * containers restarts, even when the matching resource itself does not change.
+     *
+     * @param listener The listener to notify of pod changes
+     * @return The subscription, which stops notifications when closed
+     * @throws UnsupportedOperationException when the resource set does not support subscriptions
+     */
+    default Subscription subscribeOwnedPods(ResourceSetListener listener) {
+        throw new UnsupportedOperationException("%s does not support subscriptions".formatted(getClass().getSimpleName()));
+    }
+
     /**
      * Dispose of the resources allocated when streaming matching resources
      */
     @Override
     void close();
+
+    interface Subscription extends AutoCloseable {
+
+        /**
+         * Stop notifying the listener
+         */
+        @Override
+        void close();
+    }
 }
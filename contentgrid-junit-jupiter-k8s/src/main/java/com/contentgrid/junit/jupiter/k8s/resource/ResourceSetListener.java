@@ -0,0 +1,19 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+/**
+ * Receives changes to the resources of a {@link ResourceSet}, as they are observed by the informers
+ */
+public interface ResourceSetListener {
+
+    /**
+     * A matching resource was added or updated
+     * @param resource The current state of the resource
+     */
+    void resourceChanged(AwaitableResource resource);
+
+    /**
+     * A resource was deleted, or no longer matches
+     * @param resource The last known state of the resource
+     */
+    void resourceRemoved(AwaitableResource resource);
+}
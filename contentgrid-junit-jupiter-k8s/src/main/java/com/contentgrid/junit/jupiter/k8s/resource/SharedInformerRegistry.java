@@ -0,0 +1,148 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.extension.ExtensionContext.Store.CloseableResource;
+
+/**
+ * JVM-wide, reference-counted registry of informers, so resource sets that watch the same resources share a single
+ * LIST+WATCH against the API server.
+ * <p>
+ * Informers are keyed by the client, the resource type, the namespace and the server-side filter. An informer is closed when the last lease on
+ * it is released. The registry is registered in the JUnit root store by
+ * {@link com.contentgrid.junit.jupiter.k8s.KubernetesTestClusterExtension}, which closes leftover informers at the end
+ * of the test run.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SharedInformerRegistry implements CloseableResource {
+
+    private static final SharedInformerRegistry INSTANCE = new SharedInformerRegistry();
+
+    private final Map<InformerKey, SharedInformer<?>> informers = new HashMap<>();
+
+    public static SharedInformerRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Key of a shared informer. The client is compared by identity, because informers are bound to the client that
+     * created them.
+     */
+    private record InformerKey(ClientIdentity client, Class<?> type, String namespace, String filter) {
+
+    }
+
+    @RequiredArgsConstructor
+    private static final class ClientIdentity {
+        private final KubernetesClient client;
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ClientIdentity other && other.client == this.client;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(client);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class SharedInformer<T extends HasMetadata> {
+        private final SharedIndexInformer<T> informer;
+        private int references = 0;
+    }
+
+    /**
+     * Acquire a lease on a shared informer, creating the informer when there is none yet
+     *
+     * @param client The client the informer is created with
+     * @param type The resource type of the informer
+     * @param namespace The namespace of the informer
+     * @param filter Canonical representation of the label/field selector of the informer, empty when unfiltered
+     * @param informerFactory Creates a (not yet running) informer when there is no shared informer yet
+     * @return A lease on the informer, which must be closed when the informer is no longer used
+     */
+    @SuppressWarnings("unchecked")
+    <T extends HasMetadata> Lease<T> acquire(
+            @NonNull KubernetesClient client,
+            @NonNull Class<T> type,
+            @NonNull String namespace,
+            @NonNull String filter,
+            @NonNull Supplier<SharedIndexInformer<T>> informerFactory
+    ) {
+        var key = new InformerKey(new ClientIdentity(client), type, namespace, filter);
+        synchronized (informers) {
+            var shared = (SharedInformer<T>) informers.computeIfAbsent(key, k -> new SharedInformer<>(informerFactory.get()));
+            shared.references++;
+            return new Lease<>(key, shared);
+        }
+    }
+
+    private void release(InformerKey key, SharedInformer<?> shared) {
+        synchronized (informers) {
+            shared.references--;
+            if (shared.references > 0 || informers.get(key) != shared) {
+                return;
+            }
+            informers.remove(key);
+        }
+        log.debug("Closing informer for {} in namespace {} [{}]", key.type().getSimpleName(), key.namespace(), key.filter());
+        shared.informer.close();
+    }
+
+    /**
+     * @return The number of informers that are currently shared
+     */
+    int size() {
+        synchronized (informers) {
+            return informers.size();
+        }
+    }
+
+    /**
+     * Closes all informers, regardless of outstanding leases
+     */
+    @Override
+    public void close() {
+        ArrayList<SharedInformer<?>> remaining;
+        synchronized (informers) {
+            remaining = new ArrayList<>(informers.values());
+            informers.clear();
+        }
+        remaining.forEach(shared -> shared.informer.close());
+    }
+
+    /**
+     * A lease on a shared informer. Closing the lease is idempotent.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    final class Lease<T extends HasMetadata> implements AutoCloseable {
+        private final InformerKey key;
+        private final SharedInformer<T> shared;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        SharedIndexInformer<T> informer() {
+            return shared.informer;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(key, shared);
+            }
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.contentgrid.junit.jupiter.k8s.wait;
 
 import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import com.contentgrid.junit.jupiter.k8s.log.LogCollector;
 import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource;
 import com.contentgrid.junit.jupiter.k8s.resource.ConfigurableResourceSet;
 import com.contentgrid.junit.jupiter.k8s.resource.ResourceMatchingSpec;
+import com.contentgrid.junit.jupiter.k8s.resource.ResourceSetListener;
 import io.fabric8.kubernetes.api.model.HasMetadata;
 import io.fabric8.kubernetes.api.model.apps.DaemonSet;
 import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
@@ -22,6 +32,7 @@ import org.awaitility.Awaitility;
 import org.awaitility.core.ConditionEvaluationListener;
 import org.awaitility.core.ConditionEvaluationLogger;
 import org.awaitility.core.ConditionFactory;
+import org.awaitility.core.ConditionTimeoutException;
 import org.awaitility.core.EvaluatedCondition;
 import org.awaitility.core.IgnoredException;
 import org.awaitility.core.StartEvaluationEvent;
@@ -140,6 +151,106 @@ public class KubernetesResourceWaiter implements AutoCloseable, ResourceMatching
         return this;
     }
 
+    /**
+     * Wait for all resources to be ready, driven by informer events instead of polling.
+     * <p>
+     * The readiness of a resource is only re-evaluated when the informer observes a change to it, and the wait
+     * completes as soon as the last resource becomes ready.
+     *
+     * @param timeout Maximum time to wait
+     * @throws ConditionTimeoutException when not all resources are ready before the timeout
+     */
+    public KubernetesResourceWaiter await(@NonNull Duration timeout) {
+        var tracker = new ReadinessTracker();
+
+        log.info("Waiting for <{}>", resources().toList());
+        try (var subscription = resourceSet.subscribe(tracker)) {
+            // Informers are running, but not all existing resources may have been delivered to the listener yet
+            resources().forEach(tracker::seed);
+            tracker.seeded();
+
+            tracker.allReady.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            var nonReady = tracker.nonReadyResources();
+            logNonReadyResources(nonReady);
+            throw new ConditionTimeoutException("Resources %s were not ready within %s".formatted(nonReady, timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        log.info("All resources are ready");
+        return this;
+    }
+
+    /**
+     * Tracks readiness of resources by their uid, based on informer events
+     */
+    private static class ReadinessTracker implements ResourceSetListener {
+        private final Map<String, AwaitableResource> resources = new ConcurrentHashMap<>();
+        private final Map<String, Boolean> readiness = new ConcurrentHashMap<>();
+        // Uids are never reused, so a removed resource can never be seeded again
+        private final Set<String> removed = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<Void> allReady = new CompletableFuture<>();
+        private volatile boolean seeded = false;
+
+        private static String uid(AwaitableResource resource) {
+            return resource.getObjectReference().getUid();
+        }
+
+        void seed(AwaitableResource resource) {
+            var uid = uid(resource);
+            if (removed.contains(uid)) {
+                return;
+            }
+            // An informer event is always more recent than the seeded state
+            if (readiness.putIfAbsent(uid, resource.isReady()) == null) {
+                resources.put(uid, resource);
+                // The resource may have been removed while it was being seeded
+                if (removed.contains(uid)) {
+                    readiness.remove(uid);
+                    resources.remove(uid);
+                }
+            }
+        }
+
+        void seeded() {
+            seeded = true;
+            checkAllReady();
+        }
+
+        @Override
+        public void resourceChanged(AwaitableResource resource) {
+            resources.put(uid(resource), resource);
+            readiness.put(uid(resource), resource.isReady());
+            checkAllReady();
+        }
+
+        @Override
+        public void resourceRemoved(AwaitableResource resource) {
+            removed.add(uid(resource));
+            readiness.remove(uid(resource));
+            resources.remove(uid(resource));
+            checkAllReady();
+        }
+
+        private void checkAllReady() {
+            if (seeded && !readiness.containsValue(false)) {
+                allReady.complete(null);
+            }
+        }
+
+        List<AwaitableResource> nonReadyResources() {
+            return readiness.entrySet().stream()
+                    .filter(entry -> !entry.getValue())
+                    .map(entry -> resources.get(entry.getKey()))
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+    }
+
     /**
      * Shut down all informers
      */
@@ -148,6 +259,50 @@ public class KubernetesResourceWaiter implements AutoCloseable, ResourceMatching
         resourceSet.close();
     }
 
+    /**
+     * Logs the events and logs of resources that are not ready
+     */
+    private static void logNonReadyResources(List<? extends AwaitableResource> nonReady) {
+        log.error("{} resources are not ready", nonReady.size());
+
+        nonReady.forEach(resource -> {
+            log.error(" - {}", resource);
+        });
+
+        // Start reading logs of all resources up front, so they are fetched concurrently
+        var logs = nonReady.stream()
+                .map(resource -> LogCollector.collectAsync(Stream.of(resource)))
+                .toList();
+
+        for (int i = 0; i < nonReady.size(); i++) {
+            var awaitableResource = nonReady.get(i);
+            awaitableResource.events().forEachOrdered(event -> {
+                var logBuilder = switch (event.type()) {
+                    case "Warning" -> log.atWarn();
+                    default -> log.atInfo();
+                };
+                StringBuilder message = new StringBuilder("[{}] {}");
+                logBuilder = logBuilder
+                        .addArgument(event.resource())
+                        .addArgument(event.timestamp());
+                if(event.repeat().count() > 1) {
+                    message.append(" ({}x over {})");
+                    logBuilder = logBuilder.addArgument(event.repeat().count())
+                            .addArgument(event.repeat().period());
+                }
+
+                message.append(": {} {} {}");
+                logBuilder.log(message.toString(),
+                        event.type(),
+                        event.reason(),
+                        event.message()
+                );
+            });
+            logs.get(i).join()
+                    .forEach(line -> log.info("[{}] {} {} >>> {}", line.resource(), line.timestamp(), line.container(), line.line()));
+        }
+    }
+
     /**
      * Custom awaitility {@link ConditionEvaluationListener} that prints events and logs for resources that are not ready after the timeout
      */
@@ -174,38 +329,7 @@ public class KubernetesResourceWaiter implements AutoCloseable, ResourceMatching
         @Override
         public void onTimeout(TimeoutEvent timeoutEvent) {
             log.info(timeoutEvent.getDescription());
-            log.error("{} resources are not ready", lastFailingCondition.get().size());
-
-            lastFailingCondition.get().forEach(resource -> {
-                log.error(" - {}", resource);
-            });
-
-            for (var awaitableResource : lastFailingCondition.get()) {
-                awaitableResource.events().forEachOrdered(event -> {
-                    var logBuilder = switch (event.type()) {
-                        case "Warning" -> log.atWarn();
-                        default -> log.atInfo();
-                    };
-                    StringBuilder message = new StringBuilder("[{}] {}");
-                    logBuilder = logBuilder
-                            .addArgument(event.resource())
-                            .addArgument(event.timestamp());
-                    if(event.repeat().count() > 1) {
-                        message.append(" ({}x over {})");
-                        logBuilder = logBuilder.addArgument(event.repeat().count())
-                                .addArgument(event.repeat().period());
-                    }
-
-                    message.append(": {} {} {}");
-                    logBuilder.log(message.toString(),
-                            event.type(),
-                            event.reason(),
-                            event.message()
-                    );
-                });
-                awaitableResource.logs()
-                        .forEachOrdered(line -> log.info("[{}] {} {} >>> {}", line.resource(), line.timestamp(), line.container(), line.line()));
-            }
+            logNonReadyResources(lastFailingCondition.get());
         }
 
         @Override
@@ -100,6 +100,7 @@ class DockerRegistryCacheExtensionTest {
 
         ExtensionContext extensionContext = Mockito.mock(ExtensionContext.class);
         Mockito.when(extensionContext.getRequiredTestClass()).thenReturn(clazz);
+        Mockito.when(extensionContext.getRoot()).thenReturn(extensionContext);
         Mockito.when(extensionContext.getStore(any())).thenAnswer(
                 (Answer<Store>) invocation -> new NamespaceAwareStore(valueStore, invocation.getArgument(0)));
 
@@ -0,0 +1,86 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import java.io.IOException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ChartImagesTest {
+
+    private static Stream<JsonNode> documents(String manifests) throws IOException {
+        return new YAMLMapper().readerFor(JsonNode.class).<JsonNode>readValues(manifests).readAll().stream();
+    }
+
+    @Test
+    void extractsImagesOfAllContainers() throws IOException {
+        var manifests = """
+                ---
+                # Source: app/templates/deployment.yaml
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  name: app
+                spec:
+                  template:
+                    spec:
+                      initContainers:
+                        - name: migrate
+                          image: registry.example.com/app-migrations:1.0.0
+                      containers:
+                        - name: app
+                          image: registry.example.com/app:1.0.0
+                        - name: proxy
+                          image: nginx:1.27
+                ---
+                # Source: app/templates/cronjob.yaml
+                apiVersion: batch/v1
+                kind: CronJob
+                metadata:
+                  name: cleanup
+                spec:
+                  jobTemplate:
+                    spec:
+                      template:
+                        spec:
+                          containers:
+                            - name: cleanup
+                              image: nginx:1.27
+                ---
+                # Source: app/templates/configmap.yaml
+                apiVersion: v1
+                kind: ConfigMap
+                metadata:
+                  name: config
+                data:
+                  image: not-an-image
+                """;
+
+        assertThat(ChartImages.extract(documents(manifests))).containsExactly(
+                "nginx:1.27",
+                "registry.example.com/app-migrations:1.0.0",
+                "registry.example.com/app:1.0.0"
+        );
+    }
+
+    @Test
+    void extractsImagesFromDocuments() {
+        var mapper = new ObjectMapper();
+        var documents = Stream.<JsonNode>of(
+                mapper.createObjectNode().put("kind", "ConfigMap"),
+                mapper.createObjectNode().set("spec", mapper.createObjectNode()
+                        .set("containers", mapper.createArrayNode()
+                                .add(mapper.createObjectNode().put("image", "nginx:1.27"))))
+        );
+
+        assertThat(ChartImages.extract(documents)).containsExactly("nginx:1.27");
+    }
+
+    @Test
+    void noDocuments() {
+        assertThat(ChartImages.extract(Stream.empty())).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+
+class HelmChartInstallPlanTest {
+
+    @Test
+    void installOrder() {
+        var dependencies = new LinkedHashMap<String, List<String>>();
+        dependencies.put("app", List.of("database", "keycloak"));
+        dependencies.put("keycloak", List.of("database"));
+        dependencies.put("database", List.of());
+        dependencies.put("broker", List.of());
+
+        var installed = new ArrayList<String>();
+        // installs on the calling thread, one chart at a time
+        HelmChartInstallPlan.of(dependencies).execute(Runnable::run, installed::add);
+
+        assertThat(installed).containsExactly("database", "keycloak", "app", "broker");
+    }
+
+    @Test
+    void unknownDependency() {
+        assertThatThrownBy(() -> HelmChartInstallPlan.of(Map.of("app", List.of("database"))))
+                .isInstanceOf(ExtensionConfigurationException.class)
+                .hasMessageContaining("database");
+    }
+
+    @Test
+    void cyclicDependencies() {
+        var dependencies = new LinkedHashMap<String, List<String>>();
+        dependencies.put("a", List.of("b"));
+        dependencies.put("b", List.of("c"));
+        dependencies.put("c", List.of("a"));
+
+        assertThatThrownBy(() -> HelmChartInstallPlan.of(dependencies))
+                .isInstanceOf(ExtensionConfigurationException.class)
+                .hasMessageContaining("a -> b -> c -> a");
+    }
+
+    @Test
+    void independentChartsInstallInParallel() throws InterruptedException {
+        var dependencies = new LinkedHashMap<String, List<String>>();
+        dependencies.put("database", List.of());
+        dependencies.put("broker", List.of());
+        dependencies.put("app", List.of("database", "broker"));
+
+        var bothStarted = new CountDownLatch(2);
+        var installed = Collections.synchronizedList(new ArrayList<String>());
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            HelmChartInstallPlan.of(dependencies).execute(executor, name -> {
+                if (!name.equals("app")) {
+                    bothStarted.countDown();
+                    try {
+                        // deadlocks when database and broker are not installed concurrently
+                        assertThat(bothStarted.await(10, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                installed.add(name);
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(installed).hasSize(3).endsWith("app");
+    }
+
+    @Test
+    void failedDependencySkipsDependents() {
+        var dependencies = new LinkedHashMap<String, List<String>>();
+        dependencies.put("database", List.of());
+        dependencies.put("app", List.of("database"));
+
+        var installed = Collections.synchronizedList(new ArrayList<String>());
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThatThrownBy(() -> HelmChartInstallPlan.of(dependencies).execute(executor, name -> {
+                if (name.equals("database")) {
+                    throw new IllegalStateException("database failed");
+                }
+                installed.add(name);
+            })).isInstanceOf(IllegalStateException.class).hasMessage("database failed");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(installed).isEmpty();
+    }
+}
@@ -3,10 +3,15 @@ package com.contentgrid.junit.jupiter.helm;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.contentgrid.helm.Helm;
+import com.contentgrid.helm.HelmInstallCommand.InstallOption;
 import com.contentgrid.junit.jupiter.k8s.KubernetesTestCluster;
 import io.fabric8.kubernetes.api.model.Namespace;
+import java.util.Map;
+import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
 
 class HelmClientExtensionTest {
 
@@ -105,4 +110,50 @@ class HelmClientExtensionTest {
             assertThat(relativeClasspathHandle.namespace()).isNotEqualTo(absoluteClasspathHandle.namespace());
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @KubernetesTestCluster
+    @HelmClient
+    @TestMethodOrder(OrderAnnotation.class)
+    class ReusedReleaseTest {
+
+        @HelmChart(chart = "classpath:empty-chart", installOnStart = true, reuseRelease = true)
+        HelmChartHandle reused;
+
+        // the handle that was injected in the first test
+        static HelmChartHandle firstHandle;
+
+        @Test
+        @Order(1)
+        void installedOnStart() {
+            assertThat(reused.isInstalled()).isTrue();
+            firstHandle = reused;
+        }
+
+        @Test
+        @Order(2)
+        void handleIsKeptAcrossTests() {
+            assertThat(reused).isSameAs(firstHandle);
+            // not uninstalled after the previous test
+            assertThat(reused.isInstalled()).isTrue();
+        }
+
+        @Test
+        @Order(3)
+        void installWithSameOptionsDoesNothing() {
+            var result = reused.install();
+
+            assertThat(result.version()).isEqualTo(1);
+        }
+
+        @Test
+        @Order(4)
+        void installWithOtherValuesUpgrades() {
+            var installed = reused.install();
+            var upgraded = reused.install(InstallOption.values(Map.of("feature", Map.of("enabled", true))));
+
+            assertThat(upgraded.name()).isEqualTo(installed.name());
+            assertThat(upgraded.version()).isEqualTo(2);
+        }
+    }
+}
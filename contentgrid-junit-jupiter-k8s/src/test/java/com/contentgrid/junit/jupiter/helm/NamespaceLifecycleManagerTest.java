@@ -0,0 +1,85 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.contentgrid.helm.Helm;
+import com.contentgrid.helm.HelmInstallCommand.InstallResult;
+import com.contentgrid.helm.HelmUninstallCommand;
+import com.contentgrid.junit.jupiter.k8s.KubernetesTestCluster;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+@KubernetesTestCluster
+class NamespaceLifecycleManagerTest {
+
+    static KubernetesClient kubernetesClient;
+
+    private static Helm helm(HelmUninstallCommand uninstall) {
+        var helm = mock(Helm.class);
+        when(helm.uninstall()).thenReturn(uninstall);
+        return helm;
+    }
+
+    private static Helm failingHelm() {
+        return helm((name, options) -> {
+            throw new IllegalStateException("uninstall failed");
+        });
+    }
+
+    private static InstallResult install(String namespace, String name) {
+        var install = mock(InstallResult.class);
+        when(install.namespace()).thenReturn(namespace);
+        when(install.name()).thenReturn(name);
+        return install;
+    }
+
+    @Test
+    void failedUninstallIsLeaked() throws Throwable {
+        var manager = new NamespaceLifecycleManager();
+        manager.release(failingHelm(), kubernetesClient.getConfiguration(), List.of(install("default", "my-release")),
+                null);
+        manager.close();
+
+        assertThat(manager.leaks()).containsOnlyKeys("release default/my-release");
+    }
+
+    @Test
+    void uninstallFromStoppedClusterIsNotLeaked() throws Throwable {
+        Config stopped = new ConfigBuilder()
+                .withMasterUrl("https://127.0.0.1:1")
+                .withRequestRetryBackoffLimit(0)
+                .build();
+
+        var manager = new NamespaceLifecycleManager();
+        manager.release(failingHelm(), stopped, List.of(install("default", "my-release")), "owned-namespace");
+        manager.close();
+
+        assertThat(manager.leaks()).isEmpty();
+    }
+
+    @Test
+    void ownedNamespaceIsDeleted() throws Throwable {
+        var namespace = "owned-" + UUID.randomUUID();
+        kubernetesClient.namespaces().resource(new NamespaceBuilder()
+                        .withNewMetadata()
+                        .withName(namespace)
+                        .endMetadata()
+                        .build())
+                .create();
+
+        var manager = new NamespaceLifecycleManager();
+        manager.release(helm((name, options) -> null), kubernetesClient.getConfiguration(),
+                List.of(install(namespace, "my-release")), namespace);
+        manager.close();
+
+        assertThat(manager.leaks()).isEmpty();
+        assertThat(kubernetesClient.namespaces().withName(namespace).get()).isNull();
+    }
+}
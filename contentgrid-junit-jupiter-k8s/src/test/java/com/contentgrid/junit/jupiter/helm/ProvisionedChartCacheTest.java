@@ -0,0 +1,112 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ProvisionedChartCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path createChart(String name, String lock) throws IOException {
+        var chart = Files.createDirectories(tempDir.resolve(name));
+        Files.writeString(chart.resolve("Chart.yaml"), "apiVersion: v2\nname: test\nversion: 0.1.0\n");
+        Files.writeString(chart.resolve("Chart.lock"), lock);
+        Files.createDirectories(chart.resolve("templates"));
+        Files.writeString(chart.resolve("templates/configmap.yaml"), "kind: ConfigMap\n");
+        return chart;
+    }
+
+    @Test
+    void hashDependsOnContentsOnly() throws IOException {
+        var first = createChart("first", "digest: sha256:aaa\n");
+        var second = createChart("second", "digest: sha256:aaa\n");
+        var otherLock = createChart("third", "digest: sha256:bbb\n");
+
+        assertThat(ProvisionedChartCache.hash(first)).isEqualTo(ProvisionedChartCache.hash(second));
+        assertThat(ProvisionedChartCache.hash(first)).isNotEqualTo(ProvisionedChartCache.hash(otherLock));
+    }
+
+    @Test
+    void provisionsOnce() throws IOException {
+        var chart = createChart("chart", "digest: sha256:%s\n".formatted(tempDir.getFileName()));
+        var key = ProvisionedChartCache.hash(chart);
+        var cache = ProvisionedChartCache.create(null);
+        var provisions = new AtomicInteger();
+
+        var first = cache.provision(key, () -> {
+            provisions.incrementAndGet();
+            return chart;
+        });
+        var second = cache.provision(key, () -> {
+            provisions.incrementAndGet();
+            return chart;
+        });
+
+        assertThat(provisions).hasValue(1);
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.lookup(key)).contains(chart);
+    }
+
+    @Test
+    void storesOnDisk() throws IOException {
+        var chart = createChart("chart", "digest: sha256:%s\n".formatted(tempDir.getFileName()));
+        var key = ProvisionedChartCache.hash(chart);
+        var cacheDirectory = tempDir.resolve("cache");
+
+        var provisioned = ProvisionedChartCache.create(cacheDirectory).provision(key, () -> chart);
+
+        assertThat(provisioned).isEqualTo(cacheDirectory.resolve("charts").resolve(key));
+        assertThat(provisioned.resolve("templates/configmap.yaml")).exists();
+    }
+
+    @Test
+    void dependenciesCachedByChartLock() throws IOException {
+        var cache = ProvisionedChartCache.create(tempDir.resolve("cache"));
+        var built = createChart("built", "digest: sha256:ccc\n");
+        Files.createDirectories(built.resolve("charts"));
+        Files.writeString(built.resolve("charts/subchart-1.0.0.tgz"), "subchart");
+        cache.storeDependencies(built);
+
+        var sameLock = createChart("same-lock", "digest: sha256:ccc\n");
+        var otherLock = createChart("other-lock", "digest: sha256:ddd\n");
+
+        assertThat(cache.restoreDependencies(sameLock)).isTrue();
+        assertThat(sameLock.resolve("charts/subchart-1.0.0.tgz")).hasContent("subchart");
+        assertThat(cache.restoreDependencies(otherLock)).isFalse();
+    }
+
+    @Test
+    void configuredRepositoriesListedOncePerCacheDirectory() {
+        var cacheDirectory = tempDir.resolve("cache");
+        var listings = new AtomicInteger();
+        Supplier<Set<String>> lister = () -> {
+            listings.incrementAndGet();
+            return Set.of("https://charts.example.com");
+        };
+
+        var repositories = ProvisionedChartCache.create(cacheDirectory).configuredRepositories(lister);
+        repositories.add("https://other.example.com");
+
+        assertThat(ProvisionedChartCache.create(cacheDirectory).configuredRepositories(lister))
+                .containsExactlyInAnyOrder("https://charts.example.com", "https://other.example.com");
+        assertThat(listings).hasValue(1);
+    }
+
+    @Test
+    void configuredRepositoriesNotListedWithoutCacheDirectory() {
+        var repositories = ProvisionedChartCache.create(null).configuredRepositories(() -> {
+            throw new AssertionError("Repositories should not be listed");
+        });
+
+        assertThat(repositories).isEmpty();
+    }
+}
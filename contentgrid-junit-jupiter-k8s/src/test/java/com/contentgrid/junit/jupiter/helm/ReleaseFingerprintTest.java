@@ -0,0 +1,69 @@
+package com.contentgrid.junit.jupiter.helm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.helm.HelmInstallCommand.InstallOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReleaseFingerprintTest {
+
+    @Test
+    void sameChartAndOptions() {
+        var first = ReleaseFingerprint.of("/charts/app", InstallOption.namespace("test"),
+                InstallOption.values(Map.of("replicaCount", 1, "image", Map.of("tag", "1.0.0"))));
+        var second = ReleaseFingerprint.of("/charts/app", InstallOption.namespace("test"),
+                InstallOption.values(Map.of("image", Map.of("tag", "1.0.0"), "replicaCount", 1)));
+
+        assertThat(first).isEqualTo(second);
+    }
+
+    @Test
+    void valuesInDifferentOrder() {
+        var first = new LinkedHashMap<String, Object>();
+        first.put("a", 1);
+        first.put("b", 2);
+        var second = new LinkedHashMap<String, Object>();
+        second.put("b", 2);
+        second.put("a", 1);
+
+        assertThat(ReleaseFingerprint.of("/charts/app", InstallOption.values(first)))
+                .isEqualTo(ReleaseFingerprint.of("/charts/app", InstallOption.values(second)));
+    }
+
+    @Test
+    void differentValues() {
+        assertThat(ReleaseFingerprint.of("/charts/app", InstallOption.values(Map.of("replicaCount", 1))))
+                .isNotEqualTo(ReleaseFingerprint.of("/charts/app", InstallOption.values(Map.of("replicaCount", 2))));
+    }
+
+    @Test
+    void differentChart() {
+        assertThat(ReleaseFingerprint.of("/charts/app", InstallOption.version("1.0.0")))
+                .isNotEqualTo(ReleaseFingerprint.of("/charts/app", InstallOption.version("1.0.1")))
+                .isNotEqualTo(ReleaseFingerprint.of("/charts/other", InstallOption.version("1.0.0")));
+    }
+
+    @Test
+    void generatedNameIsIgnored() {
+        assertThat(ReleaseFingerprint.of("/charts/app", InstallOption.generateName()))
+                .isEqualTo(ReleaseFingerprint.of("/charts/app"));
+    }
+
+    @Test
+    void valuesFileContents(@TempDir Path tempDir) throws IOException {
+        var valuesFile = tempDir.resolve("values.yaml");
+        Files.writeString(valuesFile, "replicaCount: 1\n");
+        var first = ReleaseFingerprint.of("/charts/app", InstallOption.values(valuesFile));
+
+        Files.writeString(valuesFile, "replicaCount: 2\n");
+        var second = ReleaseFingerprint.of("/charts/app", InstallOption.values(valuesFile));
+
+        assertThat(first).isNotEqualTo(second);
+    }
+}
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.any;
 
 import com.contentgrid.junit.jupiter.docker.registry.DockerRegistryCache;
 import com.contentgrid.junit.jupiter.docker.registry.DockerRegistryCacheExtension;
+import com.contentgrid.junit.jupiter.k8s.KubernetesTestCluster.Scope;
 import com.contentgrid.junit.jupiter.k8s.KubernetesTestClusterExtensionTest.DockerRegistryDummyK8s.DockerRegistryCacheDummyK8sClusterProvider;
 import com.contentgrid.junit.jupiter.k8s.KubernetesTestClusterExtensionTest.DummyK8s.DummyK8sClusterProvider;
 import com.contentgrid.junit.jupiter.k8s.KubernetesTestClusterExtensionTest.Unavailable.UnavailableK8sClusterProvider;
@@ -30,6 +31,8 @@ import org.testcontainers.DockerClientFactory;
 
 class KubernetesTestClusterExtensionTest {
 
+    private static final Namespace NAMESPACE = Namespace.create(KubernetesTestClusterExtension.class);
+
     @Test
     void testExtensionCondition() {
         ConditionEvaluationResult result = new KubernetesTestClusterExtension()
@@ -113,6 +116,19 @@ class KubernetesTestClusterExtensionTest {
                 .isEqualTo("docker.io:%s".formatted(dockerRegistryMirror.getURI().toString()));
     }
 
+    @Test
+    void sessionScopedClusterInRootStore() throws Exception {
+        var extension = new KubernetesTestClusterExtension();
+        var context = extensionContext(SessionDummyK8s.class);
+        extension.beforeAll(context);
+
+        var sessionKey = KubernetesTestClusterExtension.sessionKey(new DummyK8sClusterProvider(), context);
+        assertThat(sessionKey).isEqualTo("session-cluster:%s[]".formatted(DummyK8sClusterProvider.class.getName()));
+        assertThat(context.getRoot().getStore(NAMESPACE).get(sessionKey, KubernetesProviderResult.class)).isNotNull();
+
+        extension.afterAll(context);
+    }
+
     @KubernetesTestCluster
     static class IntegrationTest {
 
@@ -176,6 +192,11 @@ class KubernetesTestClusterExtensionTest {
         }
     }
 
+    @KubernetesTestCluster(providers = DummyK8sClusterProvider.class, scope = Scope.SESSION)
+    static class SessionDummyK8s {
+
+    }
+
     @DockerRegistryCache(name = "docker.io", proxy = "https://registry-1.docker.io")
     @KubernetesTestCluster(providers = DockerRegistryCacheDummyK8sClusterProvider.class)
     static class DockerRegistryDummyK8s {
@@ -228,6 +249,7 @@ class KubernetesTestClusterExtensionTest {
 
         ExtensionContext extensionContext = Mockito.mock(ExtensionContext.class);
         Mockito.when(extensionContext.getRequiredTestClass()).thenReturn(clazz);
+        Mockito.when(extensionContext.getRoot()).thenReturn(extensionContext);
         Mockito.when(extensionContext.getStore(any())).thenAnswer(
                 (Answer<Store>) invocation -> new NamespaceAwareStore(valueStore, invocation.getArgument(0)));
 
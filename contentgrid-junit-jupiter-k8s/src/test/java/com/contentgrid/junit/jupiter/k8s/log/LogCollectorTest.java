@@ -0,0 +1,47 @@
+package com.contentgrid.junit.jupiter.k8s.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource;
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.LogLine;
+import com.contentgrid.junit.jupiter.k8s.resource.AwaitableResource.LogSource;
+import com.contentgrid.junit.jupiter.k8s.resource.LogWindow;
+import java.time.Instant;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class LogCollectorTest {
+
+    private final AwaitableResource resource = mock(AwaitableResource.class);
+
+    private LogLine line(String container, long second, String text) {
+        return new LogLine(resource, Instant.ofEpochSecond(second), container, text);
+    }
+
+    @Test
+    void mergesSourcesByTimestamp() {
+        LogSource first = () -> Stream.of(line("a", 1, "a1"), line("a", 3, "a3"), line("a", 5, "a5"));
+        LogSource second = () -> Stream.of(line("b", 2, "b2"), line("b", 3, "b3"), line("b", 4, "b4"));
+        when(resource.logSources(LogWindow.UNBOUNDED)).thenReturn(Stream.of(first, second));
+
+        assertThat(LogCollector.collect(Stream.of(resource)))
+                .extracting(LogLine::line)
+                // lines with the same timestamp keep the order of their sources
+                .containsExactly("a1", "b2", "a3", "b3", "b4", "a5");
+    }
+
+    @Test
+    void failingSourceDoesNotHideOtherLogs() {
+        LogSource failing = () -> {
+            throw new IllegalStateException("container is gone");
+        };
+        LogSource working = () -> Stream.of(line("b", 1, "b1"));
+        when(resource.logSources(LogWindow.UNBOUNDED)).thenReturn(Stream.of(failing, working));
+
+        assertThat(LogCollector.collect(Stream.of(resource)))
+                .extracting(LogLine::line)
+                .containsExactly("b1");
+    }
+}
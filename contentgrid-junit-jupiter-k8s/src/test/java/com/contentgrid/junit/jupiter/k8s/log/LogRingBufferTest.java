@@ -0,0 +1,39 @@
+package com.contentgrid.junit.jupiter.k8s.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class LogRingBufferTest {
+
+    private static String contents(LogRingBuffer buffer) {
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void keepsEverythingWithinCapacity() {
+        var buffer = new LogRingBuffer(32);
+        buffer.writeBytes("line 1\nline 2\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(contents(buffer)).isEqualTo("line 1\nline 2\n");
+    }
+
+    @Test
+    void keepsMostRecentCompleteLines() {
+        var buffer = new LogRingBuffer(16);
+        buffer.writeBytes("line 1\nline 2\n".getBytes(StandardCharsets.UTF_8));
+        buffer.writeBytes("line 3\n".getBytes(StandardCharsets.UTF_8));
+
+        // "line 1" is partially overwritten, and is dropped entirely
+        assertThat(contents(buffer)).isEqualTo("line 2\nline 3\n");
+    }
+
+    @Test
+    void writeLargerThanCapacity() {
+        var buffer = new LogRingBuffer(8);
+        buffer.writeBytes("line 1\nline 2\nabc\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(contents(buffer)).isEqualTo("abc\n");
+    }
+}
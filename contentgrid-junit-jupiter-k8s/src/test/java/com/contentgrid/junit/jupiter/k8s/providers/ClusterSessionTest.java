@@ -0,0 +1,78 @@
+package com.contentgrid.junit.jupiter.k8s.providers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.junit.jupiter.k8s.KubernetesTestCluster;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.api.model.coordination.v1.LeaseBuilder;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+@KubernetesTestCluster
+class ClusterSessionTest {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofMillis(200);
+
+    static KubernetesClient kubernetesClient;
+
+    private static ClusterSession registerSession() {
+        return new ClusterSession(new KubernetesClientBuilder().withConfig(kubernetesClient.getConfiguration()).build(),
+                HEARTBEAT_INTERVAL);
+    }
+
+    private static Lease lease(String name) {
+        return kubernetesClient.resources(Lease.class).inNamespace(ClusterSession.NAMESPACE).withName(name).get();
+    }
+
+    @Test
+    void otherLiveSession() throws InterruptedException {
+        try (var session = registerSession(); var other = registerSession()) {
+            assertThat(session.isShared()).isTrue();
+            assertThat(lease(other.getName())).isNotNull();
+        }
+    }
+
+    @Test
+    void abandonedSessionIsRemoved() throws InterruptedException {
+        var abandoned = kubernetesClient.resources(Lease.class).inNamespace(ClusterSession.NAMESPACE)
+                .resource(new LeaseBuilder()
+                        .withNewMetadata()
+                        .withName("test-session-" + UUID.randomUUID())
+                        .addToLabels(ClusterSession.LABEL, "true")
+                        .endMetadata()
+                        .build())
+                .create();
+
+        try (var session = registerSession()) {
+            session.isShared();
+
+            assertThat(lease(abandoned.getMetadata().getName())).isNull();
+            assertThat(lease(session.getName())).isNotNull();
+        }
+    }
+
+    @Test
+    void removedSessionIsRegisteredAgain() {
+        try (var session = registerSession()) {
+            kubernetesClient.resources(Lease.class).inNamespace(ClusterSession.NAMESPACE).withName(session.getName())
+                    .delete();
+
+            session.renew();
+
+            assertThat(lease(session.getName())).isNotNull();
+        }
+    }
+
+    @Test
+    void sessionIsRemovedWhenClosed() {
+        var session = registerSession();
+        assertThat(lease(session.getName())).isNotNull();
+
+        session.close();
+
+        assertThat(lease(session.getName())).isNull();
+    }
+}
@@ -3,6 +3,15 @@ package com.contentgrid.junit.jupiter.k8s.providers;
 import static org.assertj.core.api.Assertions.assertThat;
 
 
+import com.contentgrid.testcontainers.k3s.customizer.SnapshotK3sContainerCustomizer;
+import io.fabric8.kubernetes.api.model.Namespace;
+import io.fabric8.kubernetes.api.model.NamespaceBuilder;
+import io.fabric8.kubernetes.api.model.coordination.v1.Lease;
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.KubernetesClientBuilder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 
@@ -59,6 +68,79 @@ class K3sTestcontainersClusterProviderTest {
         }
     }
 
+    @Test
+    void staleTestNamespaces() {
+        var sessionRegisteredAt = Instant.parse("2026-01-01T12:00:00Z");
+
+        assertThat(K3sTestcontainersClusterProvider.isStaleTestNamespace(
+                namespace("test-" + UUID.randomUUID(), "2026-01-01T11:59:59Z"), sessionRegisteredAt)).isTrue();
+        // created by the current test run
+        assertThat(K3sTestcontainersClusterProvider.isStaleTestNamespace(
+                namespace("test-" + UUID.randomUUID(), "2026-01-01T12:00:00Z"), sessionRegisteredAt)).isFalse();
+        // not a test namespace
+        assertThat(K3sTestcontainersClusterProvider.isStaleTestNamespace(
+                namespace("kube-system", "2026-01-01T11:00:00Z"), sessionRegisteredAt)).isFalse();
+    }
+
+    @Test
+    void resetRestoresSnapshot() {
+        try (var k3s = new K3sTestcontainersClusterProvider()) {
+            k3s.configure(SnapshotK3sContainerCustomizer.class);
+            var result = k3s.start();
+
+            try (var client = new KubernetesClientBuilder()
+                    .withConfig(Config.fromKubeconfig(result.getKubeConfigYaml()))
+                    .build()) {
+                client.namespaces().resource(namespace("baseline")).create();
+                result.snapshot();
+
+                client.namespaces().resource(namespace("after-snapshot")).create();
+                result.reset();
+
+                assertThat(client.namespaces().withName("baseline").get()).isNotNull();
+                assertThat(client.namespaces().withName("after-snapshot").get()).isNull();
+            }
+        }
+    }
+
+    @Test
+    void sessionIsRegisteredAgainAfterRestore() {
+        try (var k3s = new K3sTestcontainersClusterProvider()) {
+            k3s.configure(SnapshotK3sContainerCustomizer.class);
+            var config = Config.fromKubeconfig(k3s.start().getKubeConfigYaml());
+
+            try (var client = new KubernetesClientBuilder().withConfig(config).build();
+                    var session = new ClusterSession(new KubernetesClientBuilder().withConfig(config).build(),
+                            Duration.ofMinutes(1))) {
+                var leases = client.resources(Lease.class).inNamespace(ClusterSession.NAMESPACE);
+
+                // the snapshot was taken before the session was registered
+                SnapshotK3sContainerCustomizer.restore(k3s.container);
+                assertThat(leases.withName(session.getName()).get()).isNull();
+
+                session.renew();
+                assertThat(leases.withName(session.getName()).get()).isNotNull();
+            }
+        }
+    }
+
+    private static Namespace namespace(String name) {
+        return new NamespaceBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .endMetadata()
+                .build();
+    }
+
+    private static Namespace namespace(String name, String creationTimestamp) {
+        return new NamespaceBuilder()
+                .withNewMetadata()
+                .withName(name)
+                .withCreationTimestamp(creationTimestamp)
+                .endMetadata()
+                .build();
+    }
+
     @RequiredArgsConstructor
     static class TestK3sTestcontainersClusterProvider extends K3sTestcontainersClusterProvider {
         private final boolean dockerAvailable;
@@ -0,0 +1,75 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.junit.jupiter.k8s.resource.ManifestScanner.ResourceIdentity;
+import org.junit.jupiter.api.Test;
+
+class ManifestScannerTest {
+
+    @Test
+    void scansResourceIdentities() {
+        var manifests = """
+                ---
+                # Source: app/templates/serviceaccount.yaml
+                apiVersion: v1
+                kind: ServiceAccount
+                metadata:
+                  name: app
+                  labels:
+                    name: not-the-name
+                ---
+                # Source: app/templates/deployment.yaml
+                apiVersion: apps/v1
+                kind: Deployment
+                metadata:
+                  annotations:
+                    namespace: not-the-namespace
+                  name: app
+                  namespace: kube-system
+                spec:
+                  template:
+                    metadata:
+                      name: pod-template
+                    spec:
+                      containers:
+                        - name: app
+                          image: nginx:1.27
+                ---
+                # Source: app/templates/job.yaml
+                metadata:
+                  name: migrate
+                kind: Job
+                apiVersion: batch/v1
+                """;
+
+        assertThat(ManifestScanner.scan(manifests)).containsExactly(
+                new ResourceIdentity("v1", "ServiceAccount", "app", null),
+                new ResourceIdentity("apps/v1", "Deployment", "app", "kube-system"),
+                new ResourceIdentity("batch/v1", "Job", "migrate", null)
+        );
+    }
+
+    @Test
+    void skipsEmptyDocuments() {
+        var manifests = """
+                ---
+                # Source: app/templates/disabled.yaml
+                ---
+                apiVersion: v1
+                kind: ConfigMap
+                metadata:
+                  name: config
+                ---
+                """;
+
+        assertThat(ManifestScanner.scan(manifests)).containsExactly(
+                new ResourceIdentity("v1", "ConfigMap", "config", null)
+        );
+    }
+
+    @Test
+    void emptyManifests() {
+        assertThat(ManifestScanner.scan("")).isEmpty();
+    }
+}
@@ -0,0 +1,59 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.api.model.apps.DeploymentList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.RollableScalableResource;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MatchableResourceTest {
+
+    @SuppressWarnings("unchecked")
+    private static MatchableResource<Deployment> deployments() {
+        return new MatchableResource<>(mock(KubernetesClient.class), Deployment.class,
+                (MixedOperation<Deployment, DeploymentList, RollableScalableResource<Deployment>>) mock(
+                        MixedOperation.class, RETURNS_DEEP_STUBS),
+                SharedInformerRegistry.getInstance());
+    }
+
+    private static ResourceMatcher.NamespacedResourceMatcher<Deployment> inDefault(ResourceMatcher<Deployment> matcher) {
+        return new NamespacedResourceMatcherImpl<>(matcher, "default");
+    }
+
+    @Test
+    void singleNameIsWatchedByName() {
+        try (var resource = deployments()) {
+            resource.addMatcher(inDefault(ResourceMatcher.named("app")));
+
+            assertThat(resource.informerFilters("default")).containsExactly("metadata.name=app");
+        }
+    }
+
+    @Test
+    void severalNamesAreWatchedInNamespace() {
+        try (var resource = deployments()) {
+            resource.addMatcher(inDefault(ResourceMatcher.named("app")));
+            resource.addMatcher(inDefault(ResourceMatcher.named("worker")));
+
+            assertThat(resource.informerFilters("default")).containsExactly("");
+        }
+    }
+
+    @Test
+    void labelsAreWatchedByLabel() {
+        try (var resource = deployments()) {
+            resource.addMatcher(inDefault(ResourceMatcher.labelled(Map.of("app", "app"))));
+            resource.addMatcher(inDefault(ResourceMatcher.labelled(Map.of("app", "worker"))));
+            resource.addMatcher(inDefault(ResourceMatcher.named("app")));
+
+            assertThat(resource.informerFilters("default"))
+                    .containsExactlyInAnyOrder("labels:app=app", "labels:app=worker", "metadata.name=app");
+        }
+    }
+}
@@ -201,4 +201,42 @@ class ResourceMatcherTest {
             assertThat(matcher.test(resourceCorrectCase)).isTrue();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class InformerFilterTests {
+
+        @Test
+        void labelledMatcherFiltersOnLabels() {
+            var matcher = ResourceMatcher.labelled(Map.of("env", "prod", "app", "nginx"));
+            assertThat(matcher).isInstanceOfSatisfying(InformerFilterable.class, filterable ->
+                    assertThat(filterable.informerFilters()).hasValueSatisfying(filters -> assertThat(filters)
+                            .extracting(InformerFilter::key)
+                            .containsExactly("labels:app=nginx,env=prod")));
+        }
+
+        @Test
+        void namedMatcherFiltersOnEachName() {
+            var matcher = ResourceMatcher.named("pod-a", "pod-b");
+            assertThat(matcher).isInstanceOfSatisfying(InformerFilterable.class, filterable ->
+                    assertThat(filterable.informerFilters()).hasValueSatisfying(filters -> assertThat(filters)
+                            .extracting(InformerFilter::key)
+                            .containsExactlyInAnyOrder("metadata.name=pod-a", "metadata.name=pod-b")));
+        }
+
+        @Test
+        void namespacedMatcherKeepsFilters() {
+            var matcher = ResourceMatcher.named("pod-a").inNamespace("test");
+            assertThat(matcher).isInstanceOfSatisfying(InformerFilterable.class, filterable ->
+                    assertThat(filterable.informerFilters()).hasValueSatisfying(filters -> assertThat(filters)
+                            .extracting(InformerFilter::key)
+                            .containsExactly("metadata.name=pod-a")));
+        }
+
+        @Test
+        void annotatedMatcherIsNotFiltered() {
+            ResourceMatcher<HasMetadata> matcher = ResourceMatcher.<HasMetadata>annotated(Map.of("a", "b")).inNamespace("test");
+            assertThat(matcher).isInstanceOfSatisfying(InformerFilterable.class, filterable ->
+                    assertThat(filterable.informerFilters()).isEmpty());
+        }
+    }
+}
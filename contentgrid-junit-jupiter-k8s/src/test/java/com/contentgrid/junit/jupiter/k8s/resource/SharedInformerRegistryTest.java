@@ -0,0 +1,55 @@
+package com.contentgrid.junit.jupiter.k8s.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.fabric8.kubernetes.api.model.apps.Deployment;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.informers.SharedIndexInformer;
+import org.junit.jupiter.api.Test;
+
+class SharedInformerRegistryTest {
+
+    private final SharedInformerRegistry registry = SharedInformerRegistry.getInstance();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharesInformerUntilLastLeaseIsReleased() {
+        var client = mock(KubernetesClient.class);
+        var informer = (SharedIndexInformer<Deployment>) mock(SharedIndexInformer.class);
+
+        var first = registry.acquire(client, Deployment.class, "default", "", () -> informer);
+        var second = registry.acquire(client, Deployment.class, "default", "", () -> {
+            throw new AssertionError("Informer should be shared");
+        });
+
+        assertThat(second.informer()).isSameAs(first.informer());
+
+        first.close();
+        // closing a lease is idempotent
+        first.close();
+        verify(informer, never()).close();
+
+        second.close();
+        verify(informer, times(1)).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void separateInformersPerClientNamespaceAndFilter() {
+        var client = mock(KubernetesClient.class);
+        var otherClient = mock(KubernetesClient.class);
+
+        try (var lease = registry.acquire(client, Deployment.class, "default", "", () -> mock(SharedIndexInformer.class));
+                var otherNamespace = registry.acquire(client, Deployment.class, "other", "", () -> mock(SharedIndexInformer.class));
+                var otherClientLease = registry.acquire(otherClient, Deployment.class, "default", "", () -> mock(SharedIndexInformer.class));
+                var filteredLease = registry.acquire(client, Deployment.class, "default", "metadata.name=test", () -> mock(SharedIndexInformer.class))) {
+            assertThat(otherNamespace.informer()).isNotSameAs(lease.informer());
+            assertThat(otherClientLease.informer()).isNotSameAs(lease.informer());
+            assertThat(filteredLease.informer()).isNotSameAs(lease.informer());
+        }
+    }
+}
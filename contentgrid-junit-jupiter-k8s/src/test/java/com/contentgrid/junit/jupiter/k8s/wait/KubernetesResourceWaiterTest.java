@@ -2,6 +2,7 @@ package com.contentgrid.junit.jupiter.k8s.wait;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
@@ -19,11 +20,13 @@ import io.fabric8.kubernetes.api.model.apps.Deployment;
 import io.fabric8.kubernetes.api.model.apps.StatefulSet;
 import io.fabric8.kubernetes.api.model.batch.v1.Job;
 import io.fabric8.kubernetes.client.KubernetesClient;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import org.awaitility.core.ConditionTimeoutException;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 
@@ -133,6 +136,33 @@ class KubernetesResourceWaiterTest {
         waiter.close();
     }
 
+    @Test
+    void waitForChartEventDriven() {
+        var installResult = resourceWaiterChart.install();
+
+        try (var waiter = new KubernetesResourceWaiter(kubernetesClient)
+                .include(installResult)
+                .exclude(Deployment.class, ResourceMatcher.named("broken-deploy"))) {
+
+            waiter.await(Duration.ofMinutes(1));
+
+            assertThat(waiter.nonReadyResources()).isEmpty();
+        }
+    }
+
+    @Test
+    void waitForBrokenDeployEventDriven() {
+        resourceWaiterChart.install();
+
+        try (var waiter = new KubernetesResourceWaiter(kubernetesClient)
+                .include(Deployment.class, ResourceMatcher.named("broken-deploy"))) {
+
+            assertThatThrownBy(() -> waiter.await(Duration.ofSeconds(30)))
+                    .isInstanceOf(ConditionTimeoutException.class)
+                    .hasMessageContaining("Deployment " + kubernetesClient.getNamespace() + "/broken-deploy");
+        }
+    }
+
     @Test
     void matchOnLabels() {
         resourceWaiterChart.install(InstallOption.namespace("kube-system"));
@@ -3,6 +3,7 @@ package com.contentgrid.testcontainers.k3s;
 import com.contentgrid.testcontainers.k3s.customizer.K3sContainerCustomizersImpl;
 import com.contentgrid.testcontainers.k3s.customizer.K3sContainerCustomizer;
 import com.contentgrid.testcontainers.k3s.customizer.K3sContainerCustomizers;
+import com.contentgrid.testcontainers.k3s.customizer.ReusableK3sContainerCustomizer;
 import lombok.experimental.Delegate;
 import org.testcontainers.k3s.K3sContainer;
 import org.testcontainers.utility.DockerImageName;
@@ -21,9 +22,22 @@ public class CustomizableK3sContainer extends K3sContainer implements K3sContain
 
     @Override
     public void start() {
-        if(getContainerId() == null) {
+        var isNew = getContainerId() == null;
+        if(isNew) {
             customizers.customize(this);
         }
         super.start();
+        if(isNew) {
+            customizers.afterStart(this);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (ReusableK3sContainerCustomizer.isReusable(this)) {
+            // Keep running, so the next run can reuse the container
+            return;
+        }
+        super.stop();
     }
 }
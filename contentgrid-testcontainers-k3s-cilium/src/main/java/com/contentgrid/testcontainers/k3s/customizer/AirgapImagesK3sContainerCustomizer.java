@@ -0,0 +1,171 @@
+package com.contentgrid.testcontainers.k3s.customizer;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.k3s.K3sContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Preloads images into the containerd image store of k3s, so pods can start without pulling their images.
+ * <p>
+ * Images are exported from the docker daemon (pulling them first when they are not present), and image archives
+ * (as created by {@code docker save}) are used as they are. They are copied to the
+ * <a href="https://docs.k3s.io/installation/airgap">airgap images directory</a> before k3s starts, where containerd
+ * imports them at boot.
+ * <p>
+ * Exported images are kept in the temporary directory by image id, so an image is only exported again when it changes.
+ * Together with stable file names, this keeps the configuration of the container the same across starts, as required
+ * to reuse a container or a prebaked image.
+ * <p>
+ * This also works for images that are built locally, like the application under test, which then do not have to be
+ * pushed to a registry. Pods must not use {@code imagePullPolicy: Always} for preloaded images.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@EqualsAndHashCode
+public class AirgapImagesK3sContainerCustomizer implements K3sContainerCustomizer {
+    private static final String IMAGES_DIRECTORY = "/var/lib/rancher/k3s/agent/images/";
+    private static final Path EXPORT_DIRECTORY = Path.of(System.getProperty("java.io.tmpdir"), "k3s-airgap");
+    private static final int MAX_CONCURRENT_EXPORTS = 4;
+
+    private final Set<String> images;
+    private final Set<Path> archives;
+
+    public AirgapImagesK3sContainerCustomizer() {
+        this(Set.of(), Set.of());
+    }
+
+    /**
+     * Adds images to preload
+     * @param images Image references, in addition to the images that are already configured
+     */
+    public AirgapImagesK3sContainerCustomizer withImages(Collection<String> images) {
+        var newImages = new HashSet<>(this.images);
+        newImages.addAll(images);
+        return new AirgapImagesK3sContainerCustomizer(Set.copyOf(newImages), archives);
+    }
+
+    /**
+     * Adds images to preload
+     * @param images Image references, in addition to the images that are already configured
+     */
+    public AirgapImagesK3sContainerCustomizer withImages(String... images) {
+        return withImages(List.of(images));
+    }
+
+    /**
+     * Adds image archives to preload
+     * @param archives Paths to image archives, in addition to the archives that are already configured
+     */
+    public AirgapImagesK3sContainerCustomizer withImageArchives(Path... archives) {
+        var newArchives = new HashSet<>(this.archives);
+        newArchives.addAll(List.of(archives));
+        return new AirgapImagesK3sContainerCustomizer(images, Set.copyOf(newArchives));
+    }
+
+    @Override
+    public void customize(K3sContainer container) {
+        for (var archive : archives) {
+            copyToImagesDirectory(container, archive, archive.getFileName().toString());
+        }
+
+        if (images.isEmpty()) {
+            return;
+        }
+
+        var threadCounter = new AtomicInteger();
+        var executor = Executors.newFixedThreadPool(Math.min(images.size(), MAX_CONCURRENT_EXPORTS), runnable -> {
+            var thread = new Thread(runnable, "k3s-airgap-export-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var exports = new TreeMap<String, CompletableFuture<Path>>();
+            images.forEach(image -> exports.put(image, CompletableFuture.supplyAsync(() -> export(image), executor)));
+            CompletableFuture.allOf(exports.values().toArray(CompletableFuture[]::new)).join();
+
+            exports.forEach((image, export) -> copyToImagesDirectory(container, export.join(), fileName(image)));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void copyToImagesDirectory(K3sContainer container, Path archive, String fileName) {
+        container.withCopyFileToContainer(MountableFile.forHostPath(archive), IMAGES_DIRECTORY + fileName);
+    }
+
+    /**
+     * The name of the archive of an image in the airgap images directory: readable, and the same for every start
+     *
+     * @param image The image reference
+     */
+    static String fileName(String image) {
+        var hash = HexFormat.of().formatHex(sha256().digest(image.getBytes(StandardCharsets.UTF_8)), 0, 4);
+        return "%s-%s.tar".formatted(image.replaceAll("[^A-Za-z0-9_.-]", "_"), hash);
+    }
+
+    /**
+     * Exports an image from the docker daemon to an archive, pulling it when it is not present. An archive that was
+     * already exported for the same image id is reused.
+     */
+    private static Path export(String image) {
+        var imageName = new RemoteDockerImage(DockerImageName.parse(image)).get();
+        var imageId = DockerClientFactory.lazyClient().inspectImageCmd(imageName).exec().getId();
+        var archive = EXPORT_DIRECTORY.resolve(imageId.replace(':', '-') + ".tar");
+        if (Files.isRegularFile(archive)) {
+            log.debug("Using exported image {} for k3s", imageName);
+            return archive;
+        }
+
+        log.info("Exporting image {} for k3s", imageName);
+        try {
+            Files.createDirectories(EXPORT_DIRECTORY);
+            var partial = Files.createTempFile(EXPORT_DIRECTORY, "export-", ".tar.partial");
+            try (var stream = DockerClientFactory.lazyClient().saveImageCmd(imageName).exec()) {
+                Files.copy(stream, partial, REPLACE_EXISTING);
+                // other test runs may export the same image concurrently
+                Files.move(partial, archive, REPLACE_EXISTING, ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+            return archive;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export image %s".formatted(image), e);
+        }
+    }
+
+    @SneakyThrows(NoSuchAlgorithmException.class)
+    private static MessageDigest sha256() {
+        return MessageDigest.getInstance("SHA-256");
+    }
+}
@@ -28,4 +28,12 @@ public interface K3sContainerCustomizer {
      * @param container The container to customize
      */
     void customize(K3sContainer container);
+
+    /**
+     * Callback function that is called after the container has been started and is ready
+     * @param container The started container
+     */
+    default void afterStart(K3sContainer container) {
+
+    }
 }
@@ -73,4 +73,9 @@ public class K3sContainerCustomizersImpl implements K3sContainerCustomizer, K3sC
         customizers.forEach((clazz, customizer) -> customizer.customize(container));
     }
 
+    @Override
+    public void afterStart(K3sContainer container) {
+        customizers.forEach((clazz, customizer) -> customizer.afterStart(container));
+    }
+
 }
@@ -0,0 +1,270 @@
+package com.contentgrid.testcontainers.k3s.customizer;
+
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.Checksum;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.images.builder.ImageFromDockerfile;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.k3s.K3sContainer;
+
+/**
+ * Starts k3s from a local docker image that contains an already bootstrapped cluster, instead of bootstrapping the
+ * cluster at every start.
+ * <p>
+ * The first time a configuration is started, the cluster state is baked into a local image, tagged with a hash of the
+ * container configuration (image, command, environment, labels and copied files). Later starts with the same
+ * configuration run from that image, so manifests deployed by helm-controller (like the CNI and the ingress controller)
+ * are already installed and their images are already pulled.
+ * <p>
+ * The configuration is captured when the container is created, so customizers that modify the container creation
+ * command must be registered before this customizer. Baked images are not removed automatically; they can be removed
+ * with {@code docker rmi}.
+ */
+@Slf4j
+public class PrebakedImageK3sContainerCustomizer implements K3sContainerCustomizer {
+
+    /**
+     * Label on containers that are started with this customizer, containing the hash of the container configuration
+     */
+    public static final String LABEL = "com.contentgrid.testcontainers.k3s.prebaked";
+
+    /**
+     * Repository of the local baked images, which are tagged with the hash of the container configuration
+     */
+    public static final String IMAGE_REPOSITORY = "contentgrid-k3s-prebaked";
+
+    private static final String STATE_DIRECTORY = "/var/lib/rancher/k3s";
+
+    // Only the datastore (with its certificates and token) and the containerd content are baked. Everything else in
+    // the state directory, like the extracted k3s binaries and the airgap image archives, is recreated at start.
+    private static final String SERVER_DIRECTORY = STATE_DIRECTORY + "/server";
+    private static final String CONTAINERD_DIRECTORY = STATE_DIRECTORY + "/agent/containerd";
+    private static final String BAKED_STATE_DIRECTORY = "/var/lib/rancher/k3s-prebaked";
+    static final String ENTRYPOINT = "/bin/k3s-prebaked-entrypoint.sh";
+
+    // The node name is part of the cluster state, so every container must have the same hostname
+    private static final String NODE_NAME = "k3s-prebaked";
+
+    // The state directory is a volume of the k3s image, which is not part of an image;
+    // it is seeded with the baked state when the container starts for the first time
+    private static final String ENTRYPOINT_SCRIPT = """
+            #!/bin/sh
+            set -e
+            if [ ! -e %1$s/server/token ]; then
+                cp -a %2$s/k3s/. %1$s/
+            fi
+            exec /bin/k3s "$@"
+            """.formatted(STATE_DIRECTORY, BAKED_STATE_DIRECTORY);
+
+    @Override
+    public void customize(K3sContainer container) {
+        container.withCreateContainerCmdModifier(cmd -> {
+            cmd.withHostName(NODE_NAME);
+
+            var fingerprint = fingerprint(container, cmd);
+            var labels = new HashMap<>(Objects.requireNonNullElse(cmd.getLabels(), Map.of()));
+            labels.put(LABEL, fingerprint);
+            cmd.withLabels(labels);
+
+            var image = imageName(fingerprint);
+            if (imageExists(container.getDockerClient(), image)) {
+                log.info("Starting k3s from prebaked image {}", image);
+                cmd.withImage(image);
+            }
+        });
+    }
+
+    @Override
+    public void afterStart(K3sContainer container) {
+        var fingerprint = container.getContainerInfo().getConfig().getLabels().get(LABEL);
+        if (fingerprint == null) {
+            return;
+        }
+        if (ReusableK3sContainerCustomizer.isReused(container)) {
+            // A reused container can contain the leftovers of earlier test runs
+            return;
+        }
+        var image = imageName(fingerprint);
+        if (imageExists(container.getDockerClient(), image)) {
+            // Started from the baked image, or it was baked concurrently
+            return;
+        }
+
+        try {
+            if (waitForWorkloads(container)) {
+                bake(container, image);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to bake k3s image {}", image, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String imageName(String fingerprint) {
+        return IMAGE_REPOSITORY + ":" + fingerprint;
+    }
+
+    private static boolean imageExists(DockerClient dockerClient, String image) {
+        try {
+            dockerClient.inspectImageCmd(image).exec();
+            return true;
+        } catch (NotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits until the manifests that are deployed by helm-controller are rolled out, so they are part of the baked state
+     *
+     * @return whether all workloads are ready
+     */
+    private static boolean waitForWorkloads(K3sContainer container) throws IOException, InterruptedException {
+        var commands = new String[][]{
+                {"kubectl", "wait", "--all-namespaces", "--for=condition=complete", "job", "--all", "--timeout=5m"},
+                {"kubectl", "wait", "--all-namespaces", "--for=condition=ready", "pod", "--all",
+                        "--field-selector=status.phase!=Succeeded", "--timeout=5m"}
+        };
+        for (var command : commands) {
+            var result = container.execInContainer(command);
+            if (result.getExitCode() != 0) {
+                log.warn("Not baking k3s image, workloads are not ready: {}", result.getStderr());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void bake(K3sContainer container, String image) throws IOException {
+        log.info("Baking k3s image {}", image);
+        var dockerClient = container.getDockerClient();
+        var containerId = container.getContainerId();
+        var server = Files.createTempFile("k3s-prebaked-server-", ".tar");
+        var containerd = Files.createTempFile("k3s-prebaked-containerd-", ".tar");
+        try {
+            // Pause k3s, so the datastore and the containerd content are copied in a consistent state
+            dockerClient.pauseContainerCmd(containerId).exec();
+            try {
+                copyFromContainer(dockerClient, containerId, SERVER_DIRECTORY, server);
+                copyFromContainer(dockerClient, containerId, CONTAINERD_DIRECTORY, containerd);
+            } finally {
+                dockerClient.unpauseContainerCmd(containerId).exec();
+            }
+
+            new ImageFromDockerfile(image, false)
+                    .withFileFromPath("server.tar", server)
+                    .withFileFromPath("containerd.tar", containerd)
+                    .withFileFromTransferable("entrypoint.sh",
+                            Transferable.of(ENTRYPOINT_SCRIPT.getBytes(StandardCharsets.UTF_8), 0755))
+                    .withDockerfileFromBuilder(builder -> builder
+                            .from(container.getDockerImageName())
+                            // the archives contain the copied directories themselves, which are extracted by ADD
+                            .add("server.tar", BAKED_STATE_DIRECTORY + "/k3s/")
+                            .add("containerd.tar", BAKED_STATE_DIRECTORY + "/k3s/agent/")
+                            .copy("entrypoint.sh", ENTRYPOINT)
+                            .entryPoint(ENTRYPOINT)
+                            .build())
+                    .get();
+        } finally {
+            Files.deleteIfExists(server);
+            Files.deleteIfExists(containerd);
+        }
+        log.info("Baked k3s image {}", image);
+    }
+
+    private static void copyFromContainer(DockerClient dockerClient, String containerId, String directory, Path target)
+            throws IOException {
+        try (var archive = dockerClient.copyArchiveFromContainerCmd(containerId, directory).exec()) {
+            Files.copy(archive, target, REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Calculates a hash of the container configuration, excluding labels that differ between test runs
+     */
+    static String fingerprint(K3sContainer container, CreateContainerCmd cmd) {
+        var digest = sha256();
+        var checksum = new DigestChecksum(digest);
+        update(digest, cmd.getImage());
+        Arrays.stream(Objects.requireNonNullElse(cmd.getCmd(), new String[0]))
+                .forEach(part -> update(digest, part));
+        Arrays.stream(Objects.requireNonNullElse(cmd.getEnv(), new String[0]))
+                .sorted()
+                .forEach(env -> update(digest, env));
+        Objects.requireNonNullElse(cmd.getLabels(), Map.<String, String>of())
+                .entrySet()
+                .stream()
+                .filter(label -> !label.getKey().startsWith("org.testcontainers") && !label.getKey().equals(LABEL))
+                .sorted(Entry.comparingByKey())
+                .forEach(label -> update(digest, label.getKey() + "=" + label.getValue()));
+        var files = new TreeMap<String, Transferable>();
+        container.getCopyToFileContainerPathMap().forEach((file, path) -> files.put(path, file));
+        container.getCopyToTransferableContainerPathMap().forEach((file, path) -> files.put(path, file));
+        files.forEach((path, file) -> {
+            update(digest, path);
+            file.updateChecksum(checksum);
+        });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    @SneakyThrows(NoSuchAlgorithmException.class)
+    private static MessageDigest sha256() {
+        return MessageDigest.getInstance("SHA-256");
+    }
+
+    /**
+     * Feeds the contents of copied files into the digest, through the {@link Checksum} interface of {@link Transferable}
+     */
+    private record DigestChecksum(MessageDigest digest) implements Checksum {
+
+        @Override
+        public void update(int b) {
+            digest.update((byte) b);
+        }
+
+        @Override
+        public void update(byte[] b, int off, int len) {
+            digest.update(b, off, len);
+        }
+
+        /**
+         * @return the first 8 bytes of the digest of everything that is fed into it so far
+         */
+        @Override
+        @SneakyThrows(CloneNotSupportedException.class)
+        public long getValue() {
+            // digesting resets the digest, so a copy is digested
+            var copy = (MessageDigest) digest.clone();
+            return ByteBuffer.wrap(copy.digest()).getLong();
+        }
+
+        @Override
+        public void reset() {
+            digest.reset();
+        }
+    }
+}
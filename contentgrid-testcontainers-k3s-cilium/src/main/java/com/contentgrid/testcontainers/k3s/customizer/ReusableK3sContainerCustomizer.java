@@ -0,0 +1,72 @@
+package com.contentgrid.testcontainers.k3s.customizer;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Container;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.testcontainers.k3s.K3sContainer;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+/**
+ * Reuses an already running k3s container with the same configuration, instead of starting a new container.
+ * <p>
+ * This uses testcontainers container reuse, which must be enabled with {@code testcontainers.reuse.enable=true} in
+ * {@code ~/.testcontainers.properties}. A running container is only reused when it was created with the same image,
+ * command, environment and copied files, so it matches the configuration of all registered customizers.
+ * <p>
+ * A reusable container is not stopped, so it can be reused by the next test run. It must be removed manually.
+ */
+public class ReusableK3sContainerCustomizer implements K3sContainerCustomizer {
+
+    /**
+     * Label on containers that are started with this customizer
+     */
+    public static final String LABEL = "com.contentgrid.testcontainers.k3s.reusable";
+
+    /**
+     * Ids of the reusable containers that were already running before a container was started
+     */
+    private static final Set<String> RUNNING_BEFORE_START = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void customize(K3sContainer container) {
+        container.withReuse(true);
+        container.withLabel(LABEL, "true");
+
+        if (TestcontainersConfiguration.getInstance().environmentSupportsReuse()) {
+            RUNNING_BEFORE_START.addAll(runningContainerIds(container.getDockerClient()));
+        }
+    }
+
+    private static Set<String> runningContainerIds(DockerClient dockerClient) {
+        return dockerClient.listContainersCmd()
+                .withLabelFilter(Map.of(LABEL, "true"))
+                .exec()
+                .stream()
+                .map(Container::getId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @param container The container
+     * @return Whether the container is kept running to be reused
+     */
+    public static boolean isReusable(K3sContainer container) {
+        return "true".equals(container.getLabels().get(LABEL))
+                && TestcontainersConfiguration.getInstance().environmentSupportsReuse();
+    }
+
+    /**
+     * Whether the started container is an existing container that was reused, instead of a newly created one.
+     * <p>
+     * This is decided by the id of the container: a reused container was already running before it was started.
+     *
+     * @param container The started container
+     * @return Whether the container was reused
+     */
+    public static boolean isReused(K3sContainer container) {
+        return isReusable(container) && RUNNING_BEFORE_START.contains(container.getContainerId());
+    }
+}
@@ -0,0 +1,144 @@
+package com.contentgrid.testcontainers.k3s.customizer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.Container.ExecResult;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.k3s.K3sContainer;
+
+/**
+ * Takes a snapshot of the k3s datastore once the cluster is started, so the cluster can be reset to that state with
+ * {@link #restore(K3sContainer)}.
+ * <p>
+ * k3s runs as a child of a supervisor process in the container, so it can be stopped to copy the datastore and started
+ * again, without restarting the container. A restore takes seconds: images are not pulled again, and pods that are not
+ * part of the snapshot are removed by the kubelet.
+ */
+@Slf4j
+public class SnapshotK3sContainerCustomizer implements K3sContainerCustomizer {
+
+    /**
+     * Label on containers that are started with this customizer
+     */
+    public static final String LABEL = "com.contentgrid.testcontainers.k3s.snapshot";
+
+    private static final String SUPERVISOR = "/bin/k3s-supervisor.sh";
+    private static final String CONTROL_DIRECTORY = "/run/k3s-supervisor";
+    private static final String DATASTORE_DIRECTORY = "/var/lib/rancher/k3s/server/db";
+    private static final String SNAPSHOT_DIRECTORY = "/var/lib/rancher/k3s-snapshot/db";
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    // k3s is PID 1 in the k3s image, so stopping it would stop the container.
+    // The supervisor runs k3s (through the entrypoint of a prebaked image, if present) and performs the requested
+    // action every time k3s is stopped, before starting it again.
+    private static final String SUPERVISOR_SCRIPT = """
+            #!/bin/sh
+            control=%1$s
+            mkdir -p $control
+            entrypoint=/bin/k3s
+            if [ -x %4$s ]; then
+                entrypoint=%4$s
+            fi
+            trap 'touch $control/stop; kill -TERM $pid' TERM INT
+            while true; do
+                "$entrypoint" "$@" &
+                pid=$!
+                echo $pid > $control/pid
+                while kill -0 $pid 2>/dev/null; do
+                    wait $pid
+                    status=$?
+                done
+                if [ -e $control/stop ]; then
+                    exit $status
+                elif [ -e $control/snapshot ]; then
+                    rm -rf %3$s && mkdir -p %3$s && cp -a %2$s/. %3$s/
+                    rm $control/snapshot
+                elif [ -e $control/restore ]; then
+                    rm -rf %2$s && mkdir -p %2$s && cp -a %3$s/. %2$s/
+                    rm $control/restore
+                else
+                    exit $status
+                fi
+            done
+            """.formatted(CONTROL_DIRECTORY, DATASTORE_DIRECTORY, SNAPSHOT_DIRECTORY,
+            PrebakedImageK3sContainerCustomizer.ENTRYPOINT);
+
+    @Override
+    public void customize(K3sContainer container) {
+        container.withLabel(LABEL, "true");
+        container.withCopyToContainer(Transferable.of(SUPERVISOR_SCRIPT, 0755), SUPERVISOR);
+        container.withCreateContainerCmdModifier(cmd -> cmd.withEntrypoint(SUPERVISOR));
+    }
+
+    @Override
+    @SneakyThrows({IOException.class, InterruptedException.class})
+    public void afterStart(K3sContainer container) {
+        // A reused container already has a snapshot of its initial state
+        if (container.execInContainer("test", "-d", SNAPSHOT_DIRECTORY).getExitCode() != 0) {
+            snapshot(container);
+        }
+    }
+
+    /**
+     * @param container The container
+     * @return Whether the container is customized with this customizer
+     */
+    public static boolean isEnabled(K3sContainer container) {
+        return "true".equals(container.getLabels().get(LABEL));
+    }
+
+    /**
+     * Replaces the snapshot with the current state of the cluster
+     *
+     * @param container The started container, customized with this customizer
+     */
+    public static void snapshot(K3sContainer container) {
+        restartWith(container, "snapshot");
+        log.info("Took snapshot of k3s datastore");
+    }
+
+    /**
+     * Restores the cluster to the state of the snapshot, and waits until the cluster is ready again
+     *
+     * @param container The started container, customized with this customizer
+     */
+    public static void restore(K3sContainer container) {
+        restartWith(container, "restore");
+        log.info("Restored k3s datastore from snapshot");
+    }
+
+    @SneakyThrows({IOException.class, InterruptedException.class})
+    private static void restartWith(K3sContainer container, String action) {
+        if (!isEnabled(container)) {
+            throw new IllegalStateException("%s is required to snapshot and restore the cluster"
+                    .formatted(SnapshotK3sContainerCustomizer.class.getSimpleName()));
+        }
+
+        checkSuccess(action, container.execInContainer("sh", "-c",
+                "touch %1$s/%2$s && kill -TERM $(cat %1$s/pid)".formatted(CONTROL_DIRECTORY, action)));
+
+        // The action is done when the supervisor removes the control file, after which k3s is starting again
+        var deadline = Instant.now().plus(TIMEOUT);
+        while (container.execInContainer("sh", "-c",
+                "test ! -e %s/%s && kubectl get --raw=/readyz".formatted(CONTROL_DIRECTORY, action)).getExitCode() != 0) {
+            if (Instant.now().isAfter(deadline)) {
+                throw new IllegalStateException("k3s is not ready after %s".formatted(action));
+            }
+            TimeUnit.MILLISECONDS.sleep(250);
+        }
+
+        checkSuccess(action, container.execInContainer("kubectl", "wait", "node", "--all", "--for=condition=ready",
+                "--timeout=%ds".formatted(TIMEOUT.toSeconds())));
+    }
+
+    private static void checkSuccess(String action, ExecResult result) {
+        if (result.getExitCode() != 0) {
+            throw new IllegalStateException("Failed to %s k3s datastore: %s".formatted(action, result.getStderr()));
+        }
+    }
+}
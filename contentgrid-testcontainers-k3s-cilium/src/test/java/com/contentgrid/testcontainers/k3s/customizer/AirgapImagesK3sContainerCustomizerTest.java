@@ -0,0 +1,43 @@
+package com.contentgrid.testcontainers.k3s.customizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.k3s.K3sContainer;
+import org.testcontainers.utility.DockerImageName;
+
+class AirgapImagesK3sContainerCustomizerTest {
+
+    @Test
+    void fileNameIsDerivedFromImage() {
+        assertThat(AirgapImagesK3sContainerCustomizer.fileName("docker.io/library/nginx:1.27"))
+                .isEqualTo(AirgapImagesK3sContainerCustomizer.fileName("docker.io/library/nginx:1.27"))
+                .startsWith("docker.io_library_nginx_1.27-")
+                .endsWith(".tar")
+                .matches("[A-Za-z0-9_.-]+");
+    }
+
+    @Test
+    void imagesWithSameSanitizedNameHaveDifferentFileNames() {
+        assertThat(AirgapImagesK3sContainerCustomizer.fileName("example.com/app:1"))
+                .isNotEqualTo(AirgapImagesK3sContainerCustomizer.fileName("example.com/app_1"));
+    }
+
+    @Test
+    void sameImagesAreCopiedToSameFiles() {
+        var customizer = new AirgapImagesK3sContainerCustomizer().withImages("busybox:1.36", "alpine:3.20");
+
+        assertThat(copiedFiles(customizer)).hasSize(2).isEqualTo(copiedFiles(customizer));
+    }
+
+    private static Map<String, String> copiedFiles(AirgapImagesK3sContainerCustomizer customizer) {
+        try (var container = new K3sContainer(DockerImageName.parse("rancher/k3s:v1.33.1-k3s1"))) {
+            customizer.customize(container);
+            var files = new TreeMap<String, String>();
+            container.getCopyToFileContainerPathMap().forEach((file, path) -> files.put(path, file.getResolvedPath()));
+            return files;
+        }
+    }
+}
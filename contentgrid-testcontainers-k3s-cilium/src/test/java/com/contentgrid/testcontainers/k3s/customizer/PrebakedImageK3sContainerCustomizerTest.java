@@ -0,0 +1,60 @@
+package com.contentgrid.testcontainers.k3s.customizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.k3s.K3sContainer;
+import org.testcontainers.utility.DockerImageName;
+
+class PrebakedImageK3sContainerCustomizerTest {
+
+    private static final String IMAGE = "rancher/k3s:v1.33.1-k3s1";
+
+    private static K3sContainer container(String fileContents) {
+        var container = new K3sContainer(DockerImageName.parse(IMAGE));
+        container.withCopyToContainer(Transferable.of(fileContents), "/etc/test.yaml");
+        return container;
+    }
+
+    private static String fingerprint(K3sContainer container, Map<String, String> labels) {
+        // Only the getters of the command are used for the fingerprint
+        var cmd = (CreateContainerCmd) Proxy.newProxyInstance(CreateContainerCmd.class.getClassLoader(),
+                new Class<?>[]{CreateContainerCmd.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getImage" -> IMAGE;
+                    case "getCmd" -> new String[]{"server", "--disable=traefik"};
+                    case "getEnv" -> new String[]{"B=2", "A=1"};
+                    case "getLabels" -> labels;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        return PrebakedImageK3sContainerCustomizer.fingerprint(container, cmd);
+    }
+
+    @Test
+    void sameConfigurationHasSameFingerprint() {
+        assertThat(fingerprint(container("a: 1"), Map.of("app", "test")))
+                .isEqualTo(fingerprint(container("a: 1"), Map.of("app", "test")));
+    }
+
+    @Test
+    void ignoresLabelsThatDifferBetweenRuns() {
+        assertThat(fingerprint(container("a: 1"), Map.of("org.testcontainers.sessionId", "first")))
+                .isEqualTo(fingerprint(container("a: 1"), Map.of("org.testcontainers.sessionId", "second",
+                        PrebakedImageK3sContainerCustomizer.LABEL, "previous")));
+    }
+
+    @Test
+    void copiedFilesChangeFingerprint() {
+        assertThat(fingerprint(container("a: 1"), Map.of()))
+                .isNotEqualTo(fingerprint(container("a: 2"), Map.of()));
+    }
+
+    @Test
+    void labelsChangeFingerprint() {
+        assertThat(fingerprint(container("a: 1"), Map.of("app", "test")))
+                .isNotEqualTo(fingerprint(container("a: 1"), Map.of("app", "other")));
+    }
+}
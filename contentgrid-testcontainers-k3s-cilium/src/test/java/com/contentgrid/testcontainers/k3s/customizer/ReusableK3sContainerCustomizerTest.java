@@ -0,0 +1,41 @@
+package com.contentgrid.testcontainers.k3s.customizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.contentgrid.testcontainers.k3s.CustomizableK3sContainer;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+class ReusableK3sContainerCustomizerTest {
+
+    private static CustomizableK3sContainer createContainer(String run) {
+        var container = new CustomizableK3sContainer(DockerImageName.parse("rancher/k3s:v1.33.1-k3s1"));
+        container.configure(ReusableK3sContainerCustomizer.class);
+        // keeps this test apart from reusable containers of other runs
+        container.withLabel("test-run", run);
+        return container;
+    }
+
+    @Test
+    void detectsReusedContainer() {
+        assumeTrue(TestcontainersConfiguration.getInstance().environmentSupportsReuse(), "container reuse is not enabled");
+
+        var run = UUID.randomUUID().toString();
+        var created = createContainer(run);
+        created.start();
+        try {
+            assertThat(ReusableK3sContainerCustomizer.isReused(created)).isFalse();
+
+            var reused = createContainer(run);
+            reused.start();
+
+            assertThat(reused.getContainerId()).isEqualTo(created.getContainerId());
+            assertThat(ReusableK3sContainerCustomizer.isReused(reused)).isTrue();
+        } finally {
+            created.getDockerClient().removeContainerCmd(created.getContainerId()).withForce(true).exec();
+        }
+    }
+}